@@ -0,0 +1,101 @@
+package com.example.think.benchmark;
+
+import com.example.think.entity.User;
+import com.example.think.entity.UserRole;
+import com.example.think.security.JwtAuthenticationFilter;
+import com.example.think.security.JwtTokenProvider;
+import com.example.think.security.TokenDigest;
+import com.example.think.security.TokenRevocationCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청마다 실행되는 JWT 인증 경로 벤치마크.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AuthenticationBenchmark {
+
+    private JwtTokenProvider tokenProvider;
+    private JwtAuthenticationFilter filter;
+    private User user;
+    private String token;
+    private String tokenHash;
+
+    @Setup
+    public void setUp() {
+        user = new User();
+        user.setId(1L);
+        user.setStudentId("20240001");
+        user.setName("벤치마크");
+        user.setDepartment("컴퓨터공학과");
+        user.setEmail("bench@example.com");
+        user.setPassword("unused");
+        user.setPhoneNumber("010-0000-0000");
+        user.setRole(UserRole.STUDENT);
+
+        tokenProvider = new JwtTokenProvider(InMemoryRepositories.users(List.of(user)));
+        ReflectionTestUtils.setField(tokenProvider, "jwtSecret",
+            "9a4f2c8d3b7a1e6f45c8a0b3f267d8b1d4e6f3c8a9d2b5f8e3a7c4d9f1b6e8a");
+        ReflectionTestUtils.setField(tokenProvider, "jwtExpirationInMs", 86400000);
+        ReflectionTestUtils.setField(tokenProvider, "jwtClaimsCacheSize", 50000);
+        tokenProvider.init();
+
+        TokenRevocationCache revocationCache =
+            new TokenRevocationCache(InMemoryRepositories.blacklistedTokens(), 100000, 0.01, 60);
+        revocationCache.warmUp();
+        filter = new JwtAuthenticationFilter(tokenProvider, revocationCache);
+
+        token = tokenProvider.generateToken(user);
+        tokenHash = TokenDigest.of(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public boolean validateTokenUncached() {
+        tokenProvider.evictClaims(tokenHash);
+        return tokenProvider.validateToken(token);
+    }
+
+    @Benchmark
+    public Authentication getAuthentication() {
+        return tokenProvider.getAuthentication(token);
+    }
+
+    @Benchmark
+    public int filterChain() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/classroom/list");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, new MockFilterChain());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.think.benchmark;
+
+import com.example.think.entity.User;
+import com.example.think.repository.BlacklistedTokenRepository;
+import com.example.think.repository.UserRepository;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 벤치마크용 저장소 대역. DB 왕복 없이 인증 경로 자체의 비용만 측정한다.
+ * 벤치마크에서 호출하지 않는 메서드는 UnsupportedOperationException을 던진다.
+ */
+final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    static UserRepository users(List<User> users) {
+        Map<String, User> byStudentId = users.stream()
+            .collect(Collectors.toMap(User::getStudentId, Function.identity()));
+        Map<Long, User> byId = users.stream()
+            .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        return proxy(UserRepository.class, (method, args) -> switch (method.getName()) {
+            case "findByStudentId" -> Optional.ofNullable(byStudentId.get(args[0]));
+            case "findById" -> Optional.ofNullable(byId.get(args[0]));
+            case "existsByStudentId" -> byStudentId.containsKey(args[0]);
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    static BlacklistedTokenRepository blacklistedTokens() {
+        return proxy(BlacklistedTokenRepository.class, (method, args) -> switch (method.getName()) {
+            case "findByExpiryDateAfter", "findByBlacklistedAtAfter" -> List.of();
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    private interface Handler {
+        Object invoke(Method method, Object[] args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> "InMemory" + type.getSimpleName();
+                };
+            }
+            return handler.invoke(method, args);
+        });
+    }
+}
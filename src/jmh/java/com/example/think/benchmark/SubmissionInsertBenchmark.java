@@ -0,0 +1,136 @@
+package com.example.think.benchmark;
+
+import com.example.think.ThinkApplication;
+import com.example.think.entity.Assignment;
+import com.example.think.entity.AssignmentSubmission;
+import com.example.think.entity.Classroom;
+import com.example.think.entity.User;
+import com.example.think.entity.UserRole;
+import com.example.think.repository.AssignmentRepository;
+import com.example.think.repository.AssignmentSubmissionRepository;
+import com.example.think.repository.ClassroomRepository;
+import com.example.think.repository.UserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 제출물 INSERT 처리량(행/초). batchSize=1은 배치를 끈 기존 동작, 50은 기본 설정이다.
+ * 기본은 인메모리 H2이며, -Dspring.datasource.url=...&rewriteBatchedStatements=true 로 MySQL에서도 측정할 수 있다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SubmissionInsertBenchmark {
+    private static final int ROWS = 1000;
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactionTemplate;
+    private AssignmentSubmissionRepository submissionRepository;
+    private Assignment assignment;
+    private List<User> students;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // application.properties보다 우선하도록 명령행 인자로 넘긴다
+        context = new SpringApplicationBuilder(ThinkApplication.class)
+            .web(WebApplicationType.NONE)
+            .run(
+                "--spring.datasource.url=" + System.getProperty("spring.datasource.url",
+                    "jdbc:h2:mem:bench;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"),
+                "--spring.datasource.driver-class-name=" + System.getProperty("spring.datasource.driver-class-name",
+                    "org.h2.Driver"),
+                "--spring.jpa.properties.hibernate.dialect=" + System.getProperty("hibernate.dialect",
+                    "org.hibernate.dialect.H2Dialect"),
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize,
+                "--app.storage.submissionImageDir=" + System.getProperty("java.io.tmpdir") + "/think-bench",
+                "--logging.level.root=WARN",
+                "--logging.level.com.example.think=WARN",
+                "--logging.level.org.springframework=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                "--logging.level.org.springframework.web=WARN");
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        submissionRepository = context.getBean(AssignmentSubmissionRepository.class);
+
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        User professor = userRepository.save(newUser(0, UserRole.PROFESSOR));
+        students = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            students.add(userRepository.save(newUser(i, UserRole.STUDENT)));
+        }
+
+        Classroom classroom = new Classroom();
+        classroom.setName("벤치마크");
+        classroom.setClassCode("BENCH" + batchSize);
+        classroom.setProfessor(professor);
+        classroom = context.getBean(ClassroomRepository.class).save(classroom);
+
+        assignment = new Assignment();
+        assignment.setTitle("벤치마크 과제");
+        assignment.setDueDate(LocalDateTime.now().plusDays(7));
+        assignment.setClassroom(classroom);
+        assignment = context.getBean(AssignmentRepository.class).save(assignment);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearSubmissions() {
+        submissionRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void insertSubmissions() {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<AssignmentSubmission> submissions = new ArrayList<>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                AssignmentSubmission submission = new AssignmentSubmission();
+                submission.setAssignment(assignment);
+                submission.setStudent(students.get(i % students.size()));
+                submission.setImageKey("0".repeat(64));
+                submission.setImageSize(128L);
+                submission.setImageMimeType("image/png");
+                submissions.add(submission);
+            }
+            submissionRepository.saveAll(submissions);
+        });
+    }
+
+    private static User newUser(int n, UserRole role) {
+        User user = new User();
+        user.setName("사용자" + n);
+        user.setStudentId("B" + n);
+        user.setDepartment("컴퓨터공학과");
+        user.setEmail("bench" + n + "@example.com");
+        user.setPassword("{noop}password");
+        user.setPhoneNumber("010-0000-0000");
+        user.setRole(role);
+        return user;
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.think.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 실행 중인 서버에 동시 사용자 수만큼 요청을 계속 보내고 처리량과 지연 시간 분위수를 기록한다.
+ * 플랫폼 스레드/가상 스레드 설정을 같은 조건으로 비교하기 위한 도구이다.
+ *
+ * <pre>
+ * ./gradlew bootRun                                        # 기본 (플랫폼 스레드)
+ * ./gradlew bootRun --args='--spring.profiles.active=virtual'
+ * ./gradlew loadTest -Pload.label=platform -Pload.studentId=... -Pload.password=...
+ * </pre>
+ *
+ * 설정은 시스템 프로퍼티로 받는다: load.baseUrl, load.path, load.studentId, load.password,
+ * load.concurrency, load.warmupSeconds, load.durationSeconds, load.label, load.reportDir
+ */
+public class LoadTest {
+    private static final Pattern ACCESS_TOKEN = Pattern.compile("\"accessToken\"\\s*:\\s*\"([^\"]+)\"");
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("load.baseUrl", "http://localhost:8080");
+        String path = System.getProperty("load.path", "/api/classroom/list");
+        int concurrency = Integer.getInteger("load.concurrency", 400);
+        int warmupSeconds = Integer.getInteger("load.warmupSeconds", 10);
+        int durationSeconds = Integer.getInteger("load.durationSeconds", 60);
+        String label = System.getProperty("load.label", "run");
+        Path reportDir = Path.of(System.getProperty("load.reportDir", "build/reports/loadtest"));
+
+        HttpClient client = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+        String token = login(client, baseUrl,
+            System.getProperty("load.studentId"), System.getProperty("load.password"));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+            .header("Authorization", "Bearer " + token)
+            .timeout(Duration.ofSeconds(30))
+            .GET()
+            .build();
+
+        System.out.printf("Warming up %d users for %ds against %s%n", concurrency, warmupSeconds, path);
+        run(client, request, concurrency, warmupSeconds);
+
+        System.out.printf("Measuring %d users for %ds%n", concurrency, durationSeconds);
+        Result result = run(client, request, concurrency, durationSeconds);
+
+        String summary = String.format(Locale.ROOT,
+            "{\"label\":\"%s\",\"path\":\"%s\",\"concurrency\":%d,\"durationSeconds\":%d,"
+                + "\"requests\":%d,\"errors\":%d,\"throughput\":%.1f,"
+                + "\"p50Ms\":%.2f,\"p90Ms\":%.2f,\"p99Ms\":%.2f,\"maxMs\":%.2f}",
+            label, path, concurrency, durationSeconds, result.latencies.length, result.errors,
+            result.latencies.length / (double) durationSeconds,
+            result.percentile(0.50), result.percentile(0.90), result.percentile(0.99), result.percentile(1.0));
+        System.out.println(summary);
+
+        Files.createDirectories(reportDir);
+        Files.writeString(reportDir.resolve(label + ".json"), summary + System.lineSeparator());
+    }
+
+    private static String login(HttpClient client, String baseUrl, String studentId, String password)
+            throws IOException, InterruptedException {
+        if (studentId == null || password == null) {
+            throw new IllegalArgumentException("load.studentId와 load.password를 지정해야 합니다.");
+        }
+        String body = String.format("{\"studentId\":\"%s\",\"password\":\"%s\"}", studentId, password);
+        HttpResponse<String> response = client.send(
+            HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(),
+            HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = ACCESS_TOKEN.matcher(response.body());
+        if (response.statusCode() != 200 || !matcher.find()) {
+            throw new IllegalStateException("로그인 실패: " + response.statusCode() + " " + response.body());
+        }
+        return matcher.group(1);
+    }
+
+    /**
+     * 사용자마다 응답을 받으면 바로 다음 요청을 보내는 closed-loop 부하.
+     */
+    private static Result run(HttpClient client, HttpRequest request, int concurrency, int seconds)
+            throws Exception {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        AtomicLong errors = new AtomicLong();
+        List<Future<long[]>> workers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(executor.submit(() -> {
+                    long[] samples = new long[1024];
+                    int count = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (IOException e) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        if (count == samples.length) {
+                            samples = Arrays.copyOf(samples, count * 2);
+                        }
+                        samples[count++] = System.nanoTime() - start;
+                    }
+                    return Arrays.copyOf(samples, count);
+                }));
+            }
+        }
+
+        long[] all = new long[0];
+        for (Future<long[]> worker : workers) {
+            long[] samples = worker.get();
+            int offset = all.length;
+            all = Arrays.copyOf(all, offset + samples.length);
+            System.arraycopy(samples, 0, all, offset, samples.length);
+        }
+        Arrays.sort(all);
+        return new Result(all, errors.get());
+    }
+
+    private static final class Result {
+        private final long[] latencies;
+        private final long errors;
+
+        private Result(long[] latencies, long errors) {
+            this.latencies = latencies;
+            this.errors = errors;
+        }
+
+        double percentile(double p) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * latencies.length) - 1;
+            return latencies[Math.max(0, Math.min(index, latencies.length - 1))] / 1_000_000.0;
+        }
+    }
+}
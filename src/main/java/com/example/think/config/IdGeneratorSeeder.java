@@ -0,0 +1,53 @@
+package com.example.think.config;
+
+import com.example.think.entity.IdGenerators;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * IDENTITY로 만들어진 기존 행과 id가 겹치지 않도록, 기동 시 id_generator 값을 각 테이블의 최대 id 이후로 맞춘다.
+ * 스키마 갱신이 끝난 뒤 실행되도록 EntityManagerFactory에 의존한다.
+ */
+@Component
+public class IdGeneratorSeeder {
+    private static final Logger logger = LoggerFactory.getLogger(IdGeneratorSeeder.class);
+
+    // id_generator 세그먼트 -> 대상 테이블
+    private static final Map<String, String> SEGMENTS = Map.of(
+        IdGenerators.ASSIGNMENT_SUBMISSION, "assignment_submission",
+        IdGenerators.CLASSROOM_MEMBER, "classroom_member"
+    );
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void seed() {
+        SEGMENTS.forEach((segment, table) -> {
+            Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+            // pooled 최적화기는 읽은 값 이하 ALLOCATION_SIZE개를 쓰므로 두 구간만큼 띄운다
+            long floor = maxId + 2L * IdGenerators.ALLOCATION_SIZE;
+            int updated = jdbcTemplate.update(
+                "UPDATE " + IdGenerators.TABLE + " SET " + IdGenerators.VALUE_COLUMN + " = GREATEST("
+                    + IdGenerators.VALUE_COLUMN + ", ?) WHERE " + IdGenerators.SEGMENT_COLUMN + " = ?",
+                floor, segment);
+            if (updated == 0) {
+                jdbcTemplate.update(
+                    "INSERT INTO " + IdGenerators.TABLE + " (" + IdGenerators.SEGMENT_COLUMN + ", "
+                        + IdGenerators.VALUE_COLUMN + ") VALUES (?, ?)",
+                    segment, floor);
+            }
+            logger.debug("Id generator {} seeded above max id {}", segment, maxId);
+        });
+    }
+}
@@ -2,9 +2,10 @@ package com.example.think.config;
 
 import com.example.think.security.JwtAuthenticationFilter;
 import com.example.think.security.JwtTokenProvider;
-import com.example.think.repository.BlacklistedTokenRepository;
+import com.example.think.security.TokenRevocationCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -31,7 +32,7 @@ import java.util.Arrays;
 public class SecurityConfig {
 
     private final JwtTokenProvider tokenProvider;
-    private final BlacklistedTokenRepository blacklistedTokenRepository;
+    private final TokenRevocationCache tokenRevocationCache;
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -50,7 +51,7 @@ public class SecurityConfig {
                 .anyRequest().authenticated()
             )
             .addFilterBefore(
-                new JwtAuthenticationFilter(tokenProvider, blacklistedTokenRepository), 
+                new JwtAuthenticationFilter(tokenProvider, tokenRevocationCache), 
                 UsernamePasswordAuthenticationFilter.class
             );
 
@@ -112,8 +113,9 @@ public class SecurityConfig {
         return authenticationConfiguration.getAuthenticationManager();
     }
 
+    // 비용 인자를 바꾸면 기존 사용자는 다음 로그인 때 새 비용으로 다시 해시된다 (PasswordHasher)
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${app.password.bcryptStrength}") int strength) {
+        return new BCryptPasswordEncoder(strength);
     }
 } 
\ No newline at end of file
@@ -1,12 +1,22 @@
 package com.example.think.config;
 
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
@@ -14,4 +24,45 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedMethods("*")
                 .allowedHeaders("*");
     }
-} 
\ No newline at end of file
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        OpenEntityManagerInViewInterceptor interceptor = new SkipUploadsOpenEntityManagerInViewInterceptor();
+        interceptor.setEntityManagerFactory(entityManagerFactory);
+        registry.addWebRequestInterceptor(interceptor);
+    }
+
+    /**
+     * 요청 동안 EntityManager를 열어 두면 첫 트랜잭션에서 잡은 DB 커넥션을 응답이 끝날 때까지 놓지 않는다.
+     * 본문을 흘려 받는 업로드(원본 PNG, multipart)는 느린 클라이언트가 커넥션을 붙잡지 않도록 제외한다.
+     */
+    private static class SkipUploadsOpenEntityManagerInViewInterceptor extends OpenEntityManagerInViewInterceptor {
+
+        @Override
+        public void preHandle(WebRequest request) {
+            if (!isStreamedUpload(request)) {
+                super.preHandle(request);
+            }
+        }
+
+        @Override
+        public void afterConcurrentHandlingStarted(WebRequest request) {
+            if (!isStreamedUpload(request)) {
+                super.afterConcurrentHandlingStarted(request);
+            }
+        }
+
+        @Override
+        public void afterCompletion(WebRequest request, Exception ex) {
+            if (!isStreamedUpload(request)) {
+                super.afterCompletion(request, ex);
+            }
+        }
+
+        private static boolean isStreamedUpload(WebRequest request) {
+            String contentType = request.getHeader(HttpHeaders.CONTENT_TYPE);
+            return contentType != null
+                && (contentType.startsWith(MediaType.IMAGE_PNG_VALUE) || contentType.startsWith("multipart/"));
+        }
+    }
+}
@@ -1,26 +1,54 @@
 package com.example.think.controller;
 
 import com.example.think.entity.Classroom;
-import com.example.think.entity.User;
+import com.example.think.entity.ClassroomDeletion;
 import com.example.think.entity.Assignment;
 import com.example.think.entity.AssignmentSubmission;
 import com.example.think.entity.UserRole;
 import com.example.think.dto.AssignmentDto;
+import com.example.think.dto.ClassroomStudentCount;
+import com.example.think.dto.RosterImportResult;
+import com.example.think.dto.SubmissionSummary;
+import com.example.think.drawing.StrokeDrawing;
+import com.example.think.pagination.CursorPage;
+import com.example.think.security.UserPrincipal;
 import com.example.think.service.ClassroomService;
+import com.example.think.service.RosterImportService;
+import com.example.think.service.SubmissionImagePipeline;
+import com.example.think.service.SubmissionUploadService;
+import com.example.think.storage.StoredImage;
+import com.example.think.storage.SubmissionImageStore;
+import com.example.think.storage.UploadTooLargeException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
-import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/classroom")
@@ -33,11 +61,29 @@ import java.util.stream.Collectors;
 public class ClassroomController {
     private static final Logger logger = LoggerFactory.getLogger(ClassroomController.class);
 
+    // Tomcat sendfile 요청 속성 (org.apache.catalina.Globals)
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     @Autowired
     private ClassroomService classroomService;
 
+    @Autowired
+    private SubmissionImageStore imageStore;
+
+    @Autowired
+    private RosterImportService rosterImportService;
+
+    @Autowired
+    private SubmissionUploadService submissionUploadService;
+
     @GetMapping("/list")
-    public ResponseEntity<?> getClassroomList() {
+    public ResponseEntity<?> getClassroomList(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer size
+    ) {
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
             if (authentication == null || !authentication.isAuthenticated()) {
@@ -45,18 +91,18 @@ public class ClassroomController {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("인증되지 않은 사용자입니다.");
             }
 
-            User user = (User) authentication.getPrincipal();
+            UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
             logger.info("Getting classroom list for user: {}, role: {}", user.getStudentId(), user.getRole());
             
-            List<Classroom> classrooms;
+            CursorPage<Classroom> classrooms;
             if (user.getRole() == UserRole.PROFESSOR) {
                 logger.debug("Fetching professor's classrooms");
-                classrooms = classroomService.getMyClassrooms(user);
+                classrooms = classroomService.getMyClassroomPage(user, cursor, size);
             } else {
                 logger.debug("Fetching student's enrolled classrooms");
-                classrooms = classroomService.getEnrolledClassrooms(user);
+                classrooms = classroomService.getEnrolledClassroomPage(user, cursor, size);
             }
-            logger.info("Found {} classrooms", classrooms.size());
+            logger.info("Found {} classrooms", classrooms.getItems().size());
             return ResponseEntity.ok(classrooms);
         } catch (Exception e) {
             logger.error("Failed to get classroom list", e);
@@ -68,11 +114,10 @@ public class ClassroomController {
     public ResponseEntity<?> createClassroom(@RequestBody Classroom classroom) {
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            User user = (User) authentication.getPrincipal();
+            UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
             
             logger.info("Creating classroom: {}, professor: {}", classroom.getName(), user.getStudentId());
-            classroom.setProfessor(user);
-            Classroom savedClassroom = classroomService.createClassroom(classroom);
+            Classroom savedClassroom = classroomService.createClassroom(classroom, user);
             logger.info("Created classroom with ID: {}", savedClassroom.getId());
             return ResponseEntity.ok(savedClassroom);
         } catch (Exception e) {
@@ -82,31 +127,15 @@ public class ClassroomController {
     }
 
     @GetMapping("/{id}")
+    @PreAuthorize("@classroomAccess.canAccess(#id, principal)")
     public ResponseEntity<?> getClassroomDetails(@PathVariable Long id) {
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            User user = (User) authentication.getPrincipal();
+            UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
             logger.debug("User {} attempting to access classroom {}", user.getStudentId(), id);
             
             Classroom classroom = classroomService.getClassroomById(id);
-            
-            // 교수인 경우 자신의 강의실인지 확인
-            if (user.getRole() == UserRole.PROFESSOR) {
-                if (classroom.getProfessor().getId().equals(user.getId())) {
-                    return ResponseEntity.ok(classroom);
-                }
-            } 
-            // 학생인 경우 등록된 학생인지 확인
-            else if (user.getRole() == UserRole.STUDENT) {
-                if (classroom.getStudents().stream()
-                        .anyMatch(student -> student.getId().equals(user.getId()))) {
-                    return ResponseEntity.ok(classroom);
-                }
-            }
-            
-            logger.warn("User {} denied access to classroom {}", user.getStudentId(), id);
-            return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                .body("이 강의실에 접근할 권한이 없습니다.");
+            return ResponseEntity.ok(classroom);
             
         } catch (Exception e) {
             logger.error("Failed to get classroom details", e);
@@ -121,9 +150,11 @@ public class ClassroomController {
     ) {
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            User user = (User) authentication.getPrincipal();
+            UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
             
-            classroomService.enrollStudent(code, user);
+            if (!classroomService.enrollStudent(code, user)) {
+                return ResponseEntity.ok("이미 가입한 강의실입니다.");
+            }
             return ResponseEntity.ok("강의실 가입이 완료되었습니다.");
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -137,7 +168,7 @@ public class ClassroomController {
     ) {
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            User user = (User) authentication.getPrincipal();
+            UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
             
             // 이미지 데이터 처리 및 저장 로직
             return ResponseEntity.ok("과제가 성공적으로 제출되었습니다.");
@@ -153,7 +184,7 @@ public class ClassroomController {
     ) {
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            User professor = (User) authentication.getPrincipal();
+            UserPrincipal professor = (UserPrincipal) authentication.getPrincipal();
             
             // 교수 권한 확인
             if (professor.getRole() != UserRole.PROFESSOR) {
@@ -171,9 +202,13 @@ public class ClassroomController {
     }
 
     @GetMapping("/{classroomId}/assignments")
-    public ResponseEntity<?> getAssignments(@PathVariable Long classroomId) {
+    public ResponseEntity<?> getAssignments(
+        @PathVariable Long classroomId,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer size
+    ) {
         try {
-            List<Assignment> assignments = classroomService.getAssignments(classroomId);
+            CursorPage<Assignment> assignments = classroomService.getAssignments(classroomId, cursor, size);
             return ResponseEntity.ok(assignments);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("과제 목록을 불러오는데 실패했습니다: " + e.getMessage());
@@ -187,7 +222,7 @@ public class ClassroomController {
     ) {
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            User student = (User) authentication.getPrincipal();
+            UserPrincipal student = (UserPrincipal) authentication.getPrincipal();
             
             String imageData = payload.get("imageData");
             AssignmentSubmission submission = classroomService.submitAssignment(assignmentId, student, imageData);
@@ -197,17 +232,57 @@ public class ClassroomController {
         }
     }
 
+    @PostMapping(value = "/assignments/{assignmentId}/submit", consumes = StrokeDrawing.MEDIA_TYPE)
+    public ResponseEntity<?> submitAssignmentWithStrokes(
+        @PathVariable Long assignmentId,
+        @RequestBody byte[] strokes
+    ) {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            UserPrincipal student = (UserPrincipal) authentication.getPrincipal();
+
+            classroomService.submitStrokes(assignmentId, student, strokes);
+            return ResponseEntity.ok("과제가 성공적으로 제출되었습니다.");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("과제 제출에 실패했습니다: " + e.getMessage());
+        }
+    }
+
+    // 원본 PNG를 본문 그대로 (canvas.toBlob) 받아 저장소로 바로 흘려 쓴다
+    @PostMapping(value = "/assignments/{assignmentId}/submit", consumes = MediaType.IMAGE_PNG_VALUE)
+    public ResponseEntity<?> submitAssignmentWithPng(
+        @PathVariable Long assignmentId,
+        HttpServletRequest request
+    ) {
+        return uploadSubmission(student -> submissionUploadService.submit(
+            assignmentId, student, request.getInputStream(), request.getContentLengthLong()));
+    }
+
+    @PostMapping(value = "/assignments/{assignmentId}/submit", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> submitAssignmentWithFile(
+        @PathVariable Long assignmentId,
+        @RequestPart("image") MultipartFile image
+    ) {
+        return uploadSubmission(student -> submissionUploadService.submit(
+            assignmentId, student, image.getInputStream(), image.getSize()));
+    }
+
     @GetMapping("/assignments/{assignmentId}/submissions")
-    public ResponseEntity<?> getAssignmentSubmissions(@PathVariable Long assignmentId) {
+    public ResponseEntity<?> getAssignmentSubmissions(
+        @PathVariable Long assignmentId,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer size
+    ) {
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            User professor = (User) authentication.getPrincipal();
+            UserPrincipal professor = (UserPrincipal) authentication.getPrincipal();
             
             if (professor.getRole() != UserRole.PROFESSOR) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body("교수만 접근할 수 있습니다.");
             }
             
-            List<AssignmentSubmission> submissions = classroomService.getAssignmentSubmissions(assignmentId);
+            CursorPage<SubmissionSummary> submissions =
+                classroomService.getAssignmentSubmissions(assignmentId, cursor, size);
             return ResponseEntity.ok(submissions);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("제출 현황을 불러오는데 실패했습니다: " + e.getMessage());
@@ -215,12 +290,16 @@ public class ClassroomController {
     }
 
     @GetMapping("/my-submissions")
-    public ResponseEntity<?> getMySubmissions() {
+    public ResponseEntity<?> getMySubmissions(
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer size
+    ) {
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            User student = (User) authentication.getPrincipal();
+            UserPrincipal student = (UserPrincipal) authentication.getPrincipal();
             
-            List<AssignmentSubmission> submissions = classroomService.getStudentSubmissions(student.getId());
+            CursorPage<SubmissionSummary> submissions =
+                classroomService.getStudentSubmissions(student.getId(), cursor, size);
             return ResponseEntity.ok(submissions);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("제출 현황을 불러오는데 실패했습니다: " + e.getMessage());
@@ -231,24 +310,60 @@ public class ClassroomController {
     public ResponseEntity<?> deleteClassroom(@PathVariable Long classroomId) {
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            User professor = (User) authentication.getPrincipal();
+            UserPrincipal professor = (UserPrincipal) authentication.getPrincipal();
             
             if (professor.getRole() != UserRole.PROFESSOR) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body("교수만 강의실을 삭제할 수 있습니다.");
             }
             
-            classroomService.deleteClassroom(classroomId, professor);
-            return ResponseEntity.ok("강의실이 성공적으로 삭제되었습니다.");
+            ClassroomDeletion deletion = classroomService.deleteClassroom(classroomId, professor);
+            return ResponseEntity.accepted()
+                .location(URI.create("/api/classroom/" + classroomId + "/deletion"))
+                .body(deletion);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("강의실 삭제에 실패했습니다: " + e.getMessage());
         }
     }
 
+    /**
+     * 학번 목록(CSV 또는 JSON 배열)으로 수강생을 일괄 등록한다. 본문은 스트리밍으로 읽는다.
+     */
+    @PostMapping(value = "/{id}/roster:import", consumes = {"text/csv", "text/plain", "application/json"})
+    public ResponseEntity<?> importRoster(@PathVariable Long id, HttpServletRequest request) {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            UserPrincipal professor = (UserPrincipal) authentication.getPrincipal();
+            
+            boolean json = MediaType.APPLICATION_JSON.includes(MediaType.parseMediaType(request.getContentType()));
+            RosterImportResult result = rosterImportService.importRoster(id, request.getInputStream(), json, professor);
+            return ResponseEntity.ok(result);
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Failed to import roster for classroom {}", id, e);
+            return ResponseEntity.badRequest().body("수강생 일괄 등록에 실패했습니다: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/{classroomId}/deletion")
+    public ResponseEntity<?> getClassroomDeletion(@PathVariable Long classroomId) {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            UserPrincipal professor = (UserPrincipal) authentication.getPrincipal();
+            
+            return ResponseEntity.ok(classroomService.getClassroomDeletion(classroomId, professor));
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("강의실 삭제 상태를 불러오는데 실패했습니다: " + e.getMessage());
+        }
+    }
+
     @DeleteMapping("/submissions/{submissionId}")
     public ResponseEntity<?> deleteSubmission(@PathVariable Long submissionId) {
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            User student = (User) authentication.getPrincipal();
+            UserPrincipal student = (UserPrincipal) authentication.getPrincipal();
             
             classroomService.deleteSubmission(submissionId, student);
             return ResponseEntity.ok("과제 제출물이 성공적으로 삭제되었습니다.");
@@ -261,26 +376,10 @@ public class ClassroomController {
     public ResponseEntity<?> getAllClassroomStudentCounts() {
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            User user = (User) authentication.getPrincipal();
+            UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
             logger.info("Getting student counts for user: {}", user.getStudentId());
             
-            List<Map<String, Object>> classroomCounts = new ArrayList<>();
-            List<Classroom> classrooms;
-            
-            if (user.getRole() == UserRole.PROFESSOR) {
-                classrooms = classroomService.getMyClassrooms(user);
-            } else {
-                classrooms = classroomService.getEnrolledClassrooms(user);
-            }
-            
-            for (Classroom classroom : classrooms) {
-                Map<String, Object> classroomInfo = new HashMap<>();
-                classroomInfo.put("classroomId", classroom.getId());
-                classroomInfo.put("classroomName", classroom.getName());
-                classroomInfo.put("studentCount", classroom.getStudents().size());
-                classroomCounts.add(classroomInfo);
-            }
-            
+            List<ClassroomStudentCount> classroomCounts = classroomService.getStudentCounts(user);
             return ResponseEntity.ok(classroomCounts);
         } catch (Exception e) {
             logger.error("Failed to get classroom student counts", e);
@@ -289,6 +388,7 @@ public class ClassroomController {
     }
 
     @GetMapping("/{id}/student-count")
+    @PreAuthorize("@classroomAccess.canAccess(#id, principal)")
     public ResponseEntity<?> getClassroomStudentCount(@PathVariable Long id) {
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
@@ -297,36 +397,17 @@ public class ClassroomController {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("인증되지 않은 사용자입니다.");
             }
 
-            User user = (User) authentication.getPrincipal();
+            UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
             logger.debug("User {} requesting student count for classroom {}", user.getStudentId(), id);
             
             Classroom classroom = classroomService.getClassroomById(id);
-            
-            // 교수인 경우 자신의 강의실인지 확인
-            if (user.getRole() == UserRole.PROFESSOR) {
-                if (!classroom.getProfessor().getId().equals(user.getId())) {
-                    logger.warn("Professor {} attempted to access unauthorized classroom {}", user.getStudentId(), id);
-                    return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                        .body("이 강의실에 접근할 권한이 없습니다.");
-                }
-            } 
-            // 학생인 경우 등록된 학생인지 확인
-            else if (user.getRole() == UserRole.STUDENT) {
-                boolean isEnrolled = classroom.getStudents().stream()
-                        .anyMatch(student -> student.getId().equals(user.getId()));
-                if (!isEnrolled) {
-                    logger.warn("Student {} attempted to access unauthorized classroom {}", user.getStudentId(), id);
-                    return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                        .body("이 강의실에 접근할 권한이 없습니다.");
-                }
-            }
-            
+            long studentCount = classroomService.getStudentCount(classroom);
             Map<String, Object> response = new HashMap<>();
             response.put("classroomId", classroom.getId());
             response.put("classroomName", classroom.getName());
-            response.put("studentCount", classroom.getStudents().size());
+            response.put("studentCount", studentCount);
             
-            logger.info("Successfully retrieved student count for classroom {}: {}", id, classroom.getStudents().size());
+            logger.info("Successfully retrieved student count for classroom {}: {}", id, studentCount);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             logger.error("Failed to get classroom student count for classroom {}", id, e);
@@ -336,34 +417,20 @@ public class ClassroomController {
     }
 
     @GetMapping("/{id}/students")
-    public ResponseEntity<?> getClassroomStudents(@PathVariable Long id) {
+    @PreAuthorize("@classroomAccess.canAccess(#id, principal)")
+    public ResponseEntity<?> getClassroomStudents(
+        @PathVariable Long id,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(required = false) Integer size
+    ) {
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            User user = (User) authentication.getPrincipal();
+            UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
             logger.info("User {} requesting student list for classroom {}", user.getStudentId(), id);
             
             Classroom classroom = classroomService.getClassroomById(id);
-            if (classroom == null) {
-                return ResponseEntity.notFound().build();
-            }
-            
-            // 교수이거나 해당 강의실에 등록된 학생인 경우 접근 허용
-            boolean hasAccess = false;
-            if (user.getRole() == UserRole.PROFESSOR && classroom.getProfessor().getId().equals(user.getId())) {
-                hasAccess = true;
-            } else if (user.getRole() == UserRole.STUDENT && 
-                    classroom.getStudents().stream()
-                            .anyMatch(student -> student.getId().equals(user.getId()))) {
-                hasAccess = true;
-            }
-            
-            if (!hasAccess) {
-                logger.warn("User {} denied access to classroom {} student list", user.getStudentId(), id);
-                return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                    .body("이 강의실에 접근할 권한이 없습니다.");
-            }
             
-            List<Map<String, Object>> studentList = classroom.getStudents().stream()
+            CursorPage<Map<String, Object>> studentPage = classroomService.getClassroomStudentPage(id, cursor, size)
                 .map(student -> {
                     Map<String, Object> studentInfo = new HashMap<>();
                     studentInfo.put("id", student.getId());
@@ -371,16 +438,16 @@ public class ClassroomController {
                     studentInfo.put("name", student.getName());
                     studentInfo.put("email", student.getEmail());
                     return studentInfo;
-                })
-                .collect(Collectors.toList());
+                });
             
             Map<String, Object> response = new HashMap<>();
             response.put("classroomId", classroom.getId());
             response.put("classroomName", classroom.getName());
-            response.put("studentCount", studentList.size());
-            response.put("students", studentList);
+            response.put("students", studentPage.getItems());
+            response.put("nextCursor", studentPage.getNextCursor());
+            response.put("hasNext", studentPage.isHasNext());
             
-            logger.info("Successfully retrieved {} students for classroom {}", studentList.size(), id);
+            logger.info("Successfully retrieved {} students for classroom {}", studentPage.getItems().size(), id);
             return ResponseEntity.ok(response);
             
         } catch (Exception e) {
@@ -397,7 +464,7 @@ public class ClassroomController {
     ) {
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            User student = (User) authentication.getPrincipal();
+            UserPrincipal student = (UserPrincipal) authentication.getPrincipal();
             
             logger.info("User {} attempting to update submission {}", 
                 student.getStudentId(), submissionId);
@@ -418,4 +485,238 @@ public class ClassroomController {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
-} 
\ No newline at end of file
+
+    @PutMapping(value = "/submissions/{submissionId}", consumes = StrokeDrawing.MEDIA_TYPE)
+    public ResponseEntity<?> updateSubmissionWithStrokes(
+        @PathVariable Long submissionId,
+        @RequestBody byte[] strokes
+    ) {
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            UserPrincipal student = (UserPrincipal) authentication.getPrincipal();
+
+            AssignmentSubmission updatedSubmission =
+                classroomService.updateSubmissionStrokes(submissionId, student, strokes);
+            logger.info("Successfully updated submission {} by user {} with {} bytes of strokes",
+                submissionId, student.getStudentId(), strokes.length);
+            return ResponseEntity.ok(updatedSubmission);
+        } catch (Exception e) {
+            logger.error("Failed to update submission {}", submissionId, e);
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PutMapping(value = "/submissions/{submissionId}", consumes = MediaType.IMAGE_PNG_VALUE)
+    public ResponseEntity<?> updateSubmissionWithPng(
+        @PathVariable Long submissionId,
+        HttpServletRequest request
+    ) {
+        return uploadSubmission(student -> submissionUploadService.update(
+            submissionId, student, request.getInputStream(), request.getContentLengthLong()));
+    }
+
+    @PutMapping(value = "/submissions/{submissionId}", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> updateSubmissionWithFile(
+        @PathVariable Long submissionId,
+        @RequestPart("image") MultipartFile image
+    ) {
+        return uploadSubmission(student -> submissionUploadService.update(
+            submissionId, student, image.getInputStream(), image.getSize()));
+    }
+
+    private ResponseEntity<?> uploadSubmission(SubmissionUpload upload) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        UserPrincipal student = (UserPrincipal) authentication.getPrincipal();
+        try {
+            return ResponseEntity.ok(upload.run(student));
+        } catch (UploadTooLargeException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(e.getMessage());
+        } catch (IOException e) {
+            logger.error("Failed to store uploaded submission image", e);
+            return ResponseEntity.badRequest().body("이미지 저장 중 오류가 발생했습니다.");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("과제 제출에 실패했습니다: " + e.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    private interface SubmissionUpload {
+        SubmissionSummary run(UserPrincipal student) throws IOException;
+    }
+
+    /**
+     * 응답을 직접 쓴다. Tomcat이 sendfile을 지원하면 파일 경로만 넘겨 커널에서 바로 보내고 (zero-copy),
+     * 그렇지 않으면 FileChannel.transferTo로 응답 스트림에 복사한다. 서블릿 출력 스트림은 소켓 채널이 아니므로
+     * 이 경우에는 사용자 공간 버퍼를 거친다.
+     */
+    @GetMapping("/submissions/{submissionId}/image")
+    public void getSubmissionImage(
+        @PathVariable Long submissionId,
+        @RequestParam(value = "v", required = false) String version,
+        @RequestParam(value = "size", required = false) String size,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) throws IOException {
+        StoredImage image;
+        try {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
+            image = classroomService.getSubmissionImage(
+                submissionId, user, SubmissionImagePipeline.THUMBNAIL.equals(size));
+        } catch (AccessDeniedException e) {
+            writeText(response, HttpStatus.FORBIDDEN, e.getMessage());
+            return;
+        } catch (Exception e) {
+            logger.error("Failed to load submission image {}", submissionId, e);
+            writeText(response, HttpStatus.BAD_REQUEST, "제출 이미지를 불러오는데 실패했습니다: " + e.getMessage());
+            return;
+        }
+
+        if (image.isInline()) {
+            writeInlineImage(response, image, submissionId);
+            return;
+        }
+
+        // 이미지 키가 곧 내용 해시이므로 강한 ETag로 사용한다 (파생 이미지도 원본에서 결정된다).
+        // ?v={키}로 요청한 URL은 내용이 바뀌지 않으므로 오래 캐시해도 된다.
+        String etag = image.getRendition() == null
+            ? "\"" + image.getKey() + "\""
+            : "\"" + image.getKey() + "." + image.getRendition() + "\"";
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(etag);
+        headers.setCacheControl(image.getKey().equals(version)
+            ? CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable()
+            : CacheControl.noCache().cachePrivate());
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (matchesETag(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            writeHeaders(response, HttpStatus.NOT_MODIFIED, headers);
+            return;
+        }
+
+        long length = image.getSize();
+        long start = 0;
+        long end = length - 1;
+        HttpStatus status = HttpStatus.OK;
+
+        HttpRange range = parseSingleRange(request.getHeader(HttpHeaders.RANGE));
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (range != null && (ifRange == null || ifRange.equals(etag))) {
+            try {
+                start = range.getRangeStart(length);
+                end = range.getRangeEnd(length);
+            } catch (IllegalArgumentException e) {
+                start = length;
+            }
+            // HttpRange는 파일 끝을 넘어선 시작 위치를 거르지 않는다
+            if (start >= length || start > end) {
+                headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                writeHeaders(response, HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, headers);
+                return;
+            }
+            status = HttpStatus.PARTIAL_CONTENT;
+            headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+
+        // 상태를 보내기 전에 파일을 연다. 그 사이 정리된 이미지면 잘린 200 대신 404로 응답한다
+        FileChannel channel;
+        try {
+            channel = imageStore.openChannel(image.getKey(), image.getRendition());
+        } catch (NoSuchFileException e) {
+            writeText(response, HttpStatus.NOT_FOUND, "제출 이미지를 찾을 수 없습니다.");
+            return;
+        } catch (IOException e) {
+            logger.error("Failed to open image of submission {}", submissionId, e);
+            writeText(response, HttpStatus.INTERNAL_SERVER_ERROR, "제출 이미지를 읽을 수 없습니다.");
+            return;
+        }
+
+        try (channel) {
+            writeHeaders(response, status, headers);
+            response.setContentType(image.getMimeType());
+            response.setContentLengthLong(end - start + 1);
+
+            Path file = imageStore.localPath(image.getKey(), image.getRendition());
+            if (file != null && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+                request.setAttribute(SENDFILE_START, start);
+                request.setAttribute(SENDFILE_END, end + 1);
+                return;
+            }
+
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = end - start + 1;
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, out);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        } catch (IOException e) {
+            // 상태를 이미 보냈으므로 클라이언트가 연결을 끊은 경우 등은 기록만 한다
+            logger.warn("Failed to stream image of submission {}: {}", submissionId, e.getMessage());
+        }
+    }
+
+    /**
+     * 아직 저장소로 옮기지 않은 이미지는 base64를 풀면서 그대로 보낸다.
+     * 백필 후에는 내용 해시 ETag로 바뀌므로 여기서는 ETag와 범위 요청을 지원하지 않는다.
+     */
+    private void writeInlineImage(HttpServletResponse response, StoredImage image, Long submissionId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setCacheControl(CacheControl.noCache().cachePrivate());
+        headers.set(HttpHeaders.ACCEPT_RANGES, "none");
+        writeHeaders(response, HttpStatus.OK, headers);
+        response.setContentType(image.getMimeType());
+        response.setContentLengthLong(image.getSize());
+        try (InputStream in = image.getInlineData().openDecodedStream()) {
+            in.transferTo(response.getOutputStream());
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Failed to stream legacy image of submission {}: {}", submissionId, e.getMessage());
+        }
+    }
+
+    private static void writeHeaders(HttpServletResponse response, HttpStatus status, HttpHeaders headers) {
+        response.setStatus(status.value());
+        headers.forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+    }
+
+    private static void writeText(HttpServletResponse response, HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        response.getWriter().write(message);
+    }
+
+    private boolean matchesETag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private HttpRange parseSingleRange(String rangeHeader) {
+        if (rangeHeader == null) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            // 여러 구간 요청은 전체 이미지로 응답한다.
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
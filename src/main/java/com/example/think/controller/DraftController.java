@@ -0,0 +1,108 @@
+package com.example.think.controller;
+
+import com.example.think.drawing.StrokeDrawing;
+import com.example.think.dto.DraftState;
+import com.example.think.entity.AssignmentSubmission;
+import com.example.think.security.UserPrincipal;
+import com.example.think.service.DraftConflictException;
+import com.example.think.service.SubmissionDraftService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 제출 전 그림의 자동 저장 API. 클라이언트는 새로 그린 획만 순번과 함께 PUT하고,
+ * 새로 고침 등으로 끊긴 뒤에는 GET으로 마지막 순번과 그림을 받아 이어서 그린다.
+ */
+@RestController
+@RequestMapping("/api/classroom/assignments/{assignmentId}/draft")
+public class DraftController {
+    private static final Logger logger = LoggerFactory.getLogger(DraftController.class);
+
+    @Autowired
+    private SubmissionDraftService draftService;
+
+    @GetMapping
+    public ResponseEntity<?> getDraft(@PathVariable Long assignmentId) {
+        try {
+            Optional<DraftState> draft = draftService.getDraft(assignmentId, currentUser());
+            if (draft.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("임시 저장된 그림이 없습니다.");
+            }
+            return ResponseEntity.ok(draft.get());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("임시 저장 정보를 불러오는데 실패했습니다: " + e.getMessage());
+        }
+    }
+
+    @GetMapping("/strokes")
+    public ResponseEntity<?> getDraftStrokes(@PathVariable Long assignmentId) {
+        try {
+            Optional<byte[]> strokes = draftService.getDraftStrokes(assignmentId, currentUser());
+            if (strokes.isEmpty()) {
+                return ResponseEntity.noContent().build();
+            }
+            return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(StrokeDrawing.MEDIA_TYPE))
+                .body(strokes.get());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().contentType(MediaType.TEXT_PLAIN)
+                .body("임시 저장된 그림을 불러오는데 실패했습니다: " + e.getMessage());
+        }
+    }
+
+    @PutMapping(value = "/deltas/{seq}", consumes = StrokeDrawing.MEDIA_TYPE)
+    public ResponseEntity<?> appendDelta(
+        @PathVariable Long assignmentId,
+        @PathVariable long seq,
+        @RequestParam(defaultValue = "false") boolean reset,
+        @RequestBody byte[] strokes
+    ) {
+        try {
+            return ResponseEntity.ok(draftService.appendDelta(assignmentId, currentUser(), seq, reset, strokes));
+        } catch (DraftConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("message", e.getMessage(), "lastSeq", e.getLastSeq()));
+        } catch (AccessDeniedException e) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        } catch (Exception e) {
+            logger.debug("Rejected draft delta {} of assignment {}: {}", seq, assignmentId, e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/submit")
+    public ResponseEntity<?> submitDraft(@PathVariable Long assignmentId) {
+        try {
+            AssignmentSubmission submission = draftService.submitDraft(assignmentId, currentUser());
+            return ResponseEntity.ok(submission);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("과제 제출에 실패했습니다: " + e.getMessage());
+        }
+    }
+
+    @DeleteMapping
+    public ResponseEntity<?> discardDraft(@PathVariable Long assignmentId) {
+        try {
+            draftService.discardDraft(assignmentId, currentUser());
+            return ResponseEntity.ok("임시 저장된 그림을 삭제했습니다.");
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    private static UserPrincipal currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return (UserPrincipal) authentication.getPrincipal();
+    }
+}
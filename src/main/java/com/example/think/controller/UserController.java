@@ -2,11 +2,13 @@ package com.example.think.controller;
 
 import com.example.think.dto.PasswordChangeDto;
 import com.example.think.dto.UserDto;
-import com.example.think.entity.User;
+import com.example.think.security.PasswordHashingBusyException;
+import com.example.think.security.UserPrincipal;
 import com.example.think.service.UserService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -30,10 +32,10 @@ public class UserController {
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("인증되지 않은 사용자입니다.");
             }
 
-            User user = (User) authentication.getPrincipal();
+            UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
             logger.debug("Fetching user info for: {}", user.getStudentId());
             
-            UserDto userDto = userService.getUserInfo(user);
+            UserDto userDto = userService.getUserInfo(user.getId());
             return ResponseEntity.ok(userDto);
         } catch (Exception e) {
             logger.error("Failed to get user info", e);
@@ -45,9 +47,13 @@ public class UserController {
     public ResponseEntity<?> changePassword(@RequestBody PasswordChangeDto passwordChangeDto) {
         try {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            User user = (User) authentication.getPrincipal();
+            UserPrincipal user = (UserPrincipal) authentication.getPrincipal();
             userService.changePassword(user.getId(), passwordChangeDto);
             return ResponseEntity.ok("비밀번호가 성공적으로 변경되었습니다.");
+        } catch (PasswordHashingBusyException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
         } catch (Exception e) {
             logger.error("Failed to change password", e);
             return ResponseEntity.badRequest().body("비밀번호 변경에 실패했습니다: " + e.getMessage());
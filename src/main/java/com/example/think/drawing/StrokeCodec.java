@@ -0,0 +1,174 @@
+package com.example.think.drawing;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 획 목록의 이진 형식. 정수는 모두 LEB128 가변 길이로, 부호 있는 값은 zigzag로 쓴다.
+ *
+ * <pre>
+ * "TSK" 1                     매직, 버전
+ * width height                캔버스 크기 (픽셀)
+ * strokeCount
+ * 획마다:
+ *   color (4바이트 ARGB) width pointCount
+ *   x0 y0 p0                  첫 점 (zigzag, 필압은 0~255)
+ *   dx dy dp ...              이후 점은 직전 점과의 차이 (zigzag)
+ * </pre>
+ *
+ * 마우스로 그린 점은 보통 2~3바이트이므로 800x600 캔버스의 몇 획이 수 KB 안에 들어간다.
+ */
+public final class StrokeCodec {
+    private static final byte[] MAGIC = {'T', 'S', 'K'};
+    private static final int VERSION = 1;
+
+    // 클라이언트 캔버스는 800x600이다. 몇 KB짜리 요청이 렌더링 때 수십 MB 이미지를 만들지 않도록 여유만 조금 둔다
+    public static final int MAX_DIMENSION = 1200;
+    public static final int MAX_STROKES = 20_000;
+    public static final int MAX_POINTS = 1_000_000;
+    private static final int MAX_STROKE_WIDTH = 256 * StrokeDrawing.SUBPIXELS;
+    // 캔버스 밖으로 나간 좌표도 허용하되 렌더링 좌표가 터무니없이 커지지 않게 제한한다
+    private static final int MAX_COORDINATE = 2 * MAX_DIMENSION * StrokeDrawing.SUBPIXELS;
+
+    private StrokeCodec() {
+    }
+
+    public static byte[] encode(StrokeDrawing drawing) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 + drawing.getPointCount() * 3);
+        out.writeBytes(MAGIC);
+        out.write(VERSION);
+        writeVarint(out, drawing.getWidth());
+        writeVarint(out, drawing.getHeight());
+        writeVarint(out, drawing.getStrokes().size());
+        for (StrokeDrawing.Stroke stroke : drawing.getStrokes()) {
+            int color = stroke.getColor();
+            out.write(color >>> 24);
+            out.write(color >>> 16);
+            out.write(color >>> 8);
+            out.write(color);
+            writeVarint(out, stroke.getWidth());
+            writeVarint(out, stroke.getPointCount());
+            int x = 0;
+            int y = 0;
+            int p = 0;
+            for (int i = 0; i < stroke.getPointCount(); i++) {
+                writeVarint(out, zigzag(stroke.getXs()[i] - x));
+                writeVarint(out, zigzag(stroke.getYs()[i] - y));
+                writeVarint(out, zigzag(stroke.getPressures()[i] - p));
+                x = stroke.getXs()[i];
+                y = stroke.getYs()[i];
+                p = stroke.getPressures()[i];
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public static StrokeDrawing decode(byte[] data) {
+        Reader in = new Reader(data);
+        for (byte b : MAGIC) {
+            if (in.readByte() != b) {
+                throw new IllegalArgumentException("획 데이터 형식이 아닙니다.");
+            }
+        }
+        int version = in.readByte();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("지원하지 않는 획 데이터 버전입니다: " + version);
+        }
+        int width = in.readVarint();
+        int height = in.readVarint();
+        if (width <= 0 || height <= 0 || width > MAX_DIMENSION || height > MAX_DIMENSION) {
+            throw new IllegalArgumentException("캔버스 크기가 올바르지 않습니다: " + width + "x" + height);
+        }
+        // 5바이트 varint는 최상위 비트를 채워 음수가 될 수 있으므로 개수와 크기는 모두 하한도 확인한다
+        int strokeCount = in.readVarint();
+        if (strokeCount < 0 || strokeCount > MAX_STROKES) {
+            throw new IllegalArgumentException("획 개수가 올바르지 않습니다: " + strokeCount);
+        }
+
+        List<StrokeDrawing.Stroke> strokes = new ArrayList<>(strokeCount);
+        int totalPoints = 0;
+        for (int s = 0; s < strokeCount; s++) {
+            int color = in.readByte() << 24 | in.readByte() << 16 | in.readByte() << 8 | in.readByte();
+            int strokeWidth = in.readVarint();
+            if (strokeWidth <= 0 || strokeWidth > MAX_STROKE_WIDTH) {
+                throw new IllegalArgumentException("선 굵기가 올바르지 않습니다: " + strokeWidth);
+            }
+            int pointCount = in.readVarint();
+            if (pointCount <= 0 || pointCount > MAX_POINTS - totalPoints) {
+                throw new IllegalArgumentException("획의 점 개수가 올바르지 않습니다.");
+            }
+            totalPoints += pointCount;
+            int[] xs = new int[pointCount];
+            int[] ys = new int[pointCount];
+            int[] pressures = new int[pointCount];
+            int x = 0;
+            int y = 0;
+            int p = 0;
+            for (int i = 0; i < pointCount; i++) {
+                x += unzigzag(in.readVarint());
+                y += unzigzag(in.readVarint());
+                p += unzigzag(in.readVarint());
+                if (Math.abs(x) > MAX_COORDINATE || Math.abs(y) > MAX_COORDINATE || p < 0 || p > 255) {
+                    throw new IllegalArgumentException("획의 좌표가 올바르지 않습니다.");
+                }
+                xs[i] = x;
+                ys[i] = y;
+                pressures[i] = p;
+            }
+            strokes.add(new StrokeDrawing.Stroke(color, strokeWidth, xs, ys, pressures));
+        }
+        if (in.remaining() != 0) {
+            throw new IllegalArgumentException("획 데이터 뒤에 알 수 없는 바이트가 있습니다.");
+        }
+        return new StrokeDrawing(width, height, strokes);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static final class Reader {
+        private final byte[] data;
+        private int position;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        int readByte() {
+            if (position >= data.length) {
+                throw new IllegalArgumentException("획 데이터가 중간에 끊겼습니다.");
+            }
+            return data[position++] & 0xFF;
+        }
+
+        int readVarint() {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = readByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("획 데이터의 정수 형식이 올바르지 않습니다.");
+        }
+
+        int remaining() {
+            return data.length - position;
+        }
+    }
+}
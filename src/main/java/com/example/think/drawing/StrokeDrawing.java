@@ -0,0 +1,56 @@
+package com.example.think.drawing;
+
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 캔버스에 그린 획 목록. 좌표와 선 굵기는 1/4 픽셀 단위의 정수로 보관한다.
+ * 이진 형식은 StrokeCodec 참고.
+ */
+@Getter
+public class StrokeDrawing {
+    public static final String MEDIA_TYPE = "application/vnd.think.strokes";
+    // 좌표/굵기 1 단위 = 1/4 픽셀
+    public static final int SUBPIXELS = 4;
+
+    private final int width;
+    private final int height;
+    private final List<Stroke> strokes;
+
+    public StrokeDrawing(int width, int height, List<Stroke> strokes) {
+        this.width = width;
+        this.height = height;
+        this.strokes = List.copyOf(strokes);
+    }
+
+    public int getPointCount() {
+        return strokes.stream().mapToInt(Stroke::getPointCount).sum();
+    }
+
+    @Getter
+    public static class Stroke {
+        // 0xAARRGGBB
+        private final int color;
+        private final int width;
+        private final int[] xs;
+        private final int[] ys;
+        // 0~255, 255가 최대 필압 (펜이 아닌 입력은 255)
+        private final int[] pressures;
+
+        public Stroke(int color, int width, int[] xs, int[] ys, int[] pressures) {
+            if (xs.length != ys.length || xs.length != pressures.length) {
+                throw new IllegalArgumentException("획의 좌표 개수가 일치하지 않습니다.");
+            }
+            this.color = color;
+            this.width = width;
+            this.xs = xs;
+            this.ys = ys;
+            this.pressures = pressures;
+        }
+
+        public int getPointCount() {
+            return xs.length;
+        }
+    }
+}
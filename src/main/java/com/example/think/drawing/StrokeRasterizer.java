@@ -0,0 +1,90 @@
+package com.example.think.drawing;
+
+import javax.imageio.ImageIO;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.Line2D;
+import java.awt.geom.Path2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * 획 목록을 투명 배경의 PNG로 그린다. 브라우저 캔버스와 같이 둥근 끝/이음으로 그린다.
+ */
+public final class StrokeRasterizer {
+
+    private StrokeRasterizer() {
+    }
+
+    public static BufferedImage render(StrokeDrawing drawing) {
+        BufferedImage image = new BufferedImage(drawing.getWidth(), drawing.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_PURE);
+            // 좌표가 1/4 픽셀 단위이므로 그대로 그리고 축소한다
+            g.scale(1.0 / StrokeDrawing.SUBPIXELS, 1.0 / StrokeDrawing.SUBPIXELS);
+            for (StrokeDrawing.Stroke stroke : drawing.getStrokes()) {
+                g.setColor(new Color(stroke.getColor(), true));
+                if (hasConstantPressure(stroke)) {
+                    drawPath(g, stroke);
+                } else {
+                    drawSegments(g, stroke);
+                }
+            }
+        } finally {
+            g.dispose();
+        }
+        return image;
+    }
+
+    public static void writePng(StrokeDrawing drawing, OutputStream out) throws IOException {
+        if (!ImageIO.write(render(drawing), "png", out)) {
+            throw new IOException("PNG 인코더를 찾을 수 없습니다.");
+        }
+    }
+
+    private static void drawPath(Graphics2D g, StrokeDrawing.Stroke stroke) {
+        int[] xs = stroke.getXs();
+        int[] ys = stroke.getYs();
+        g.setStroke(brush(stroke.getWidth(), stroke.getPressures()[0]));
+        if (xs.length == 1) {
+            g.draw(new Line2D.Float(xs[0], ys[0], xs[0], ys[0]));
+            return;
+        }
+        Path2D.Float path = new Path2D.Float(Path2D.WIND_NON_ZERO, xs.length);
+        path.moveTo(xs[0], ys[0]);
+        for (int i = 1; i < xs.length; i++) {
+            path.lineTo(xs[i], ys[i]);
+        }
+        g.draw(path);
+    }
+
+    // 필압이 바뀌는 획은 구간마다 굵기를 달리해 그린다. 둥근 끝이 구간 사이를 메운다.
+    private static void drawSegments(Graphics2D g, StrokeDrawing.Stroke stroke) {
+        int[] xs = stroke.getXs();
+        int[] ys = stroke.getYs();
+        int[] pressures = stroke.getPressures();
+        for (int i = 1; i < xs.length; i++) {
+            g.setStroke(brush(stroke.getWidth(), (pressures[i - 1] + pressures[i]) / 2));
+            g.draw(new Line2D.Float(xs[i - 1], ys[i - 1], xs[i], ys[i]));
+        }
+    }
+
+    private static boolean hasConstantPressure(StrokeDrawing.Stroke stroke) {
+        int[] pressures = stroke.getPressures();
+        for (int i = 1; i < pressures.length; i++) {
+            if (pressures[i] != pressures[0]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static BasicStroke brush(int width, int pressure) {
+        return new BasicStroke(width * pressure / 255f, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND);
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.think.dto;
+
+/**
+ * 강의실별 수강생 수 집계 결과.
+ */
+public interface ClassroomStudentCount {
+    Long getClassroomId();
+    String getClassroomName();
+    Long getStudentCount();
+}
@@ -0,0 +1,23 @@
+package com.example.think.dto;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 임시 저장 상태. 클라이언트는 lastSeq 다음 순번부터 변경분을 이어서 보낸다.
+ */
+@Getter
+public class DraftState {
+    private final Long assignmentId;
+    private final long lastSeq;
+    private final long snapshotSeq;
+    private final LocalDateTime updatedAt;
+
+    public DraftState(Long assignmentId, long lastSeq, long snapshotSeq, LocalDateTime updatedAt) {
+        this.assignmentId = assignmentId;
+        this.lastSeq = lastSeq;
+        this.snapshotSeq = snapshotSeq;
+        this.updatedAt = updatedAt;
+    }
+}
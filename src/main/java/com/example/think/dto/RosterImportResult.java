@@ -0,0 +1,49 @@
+package com.example.think.dto;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 수강생 일괄 등록 결과. 입력 행마다 처리 결과를 돌려준다.
+ */
+@Getter
+public class RosterImportResult {
+    public enum Status {
+        ENROLLED, ALREADY_ENROLLED, DUPLICATE, NOT_FOUND, NOT_STUDENT, INVALID
+    }
+
+    private final Long classroomId;
+    private int total;
+    private int enrolled;
+    private int failed;
+    private final List<Row> results = new ArrayList<>();
+
+    public RosterImportResult(Long classroomId) {
+        this.classroomId = classroomId;
+    }
+
+    public void add(int row, String studentId, Status status) {
+        results.add(new Row(row, studentId, status));
+        total++;
+        if (status == Status.ENROLLED) {
+            enrolled++;
+        } else if (status != Status.ALREADY_ENROLLED) {
+            failed++;
+        }
+    }
+
+    @Getter
+    public static class Row {
+        private final int row;
+        private final String studentId;
+        private final Status status;
+
+        public Row(int row, String studentId, Status status) {
+            this.row = row;
+            this.studentId = studentId;
+            this.status = status;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.think.dto;
+
+/**
+ * 제출물 정리용 프로젝션 (id와 이미지 키만 조회).
+ */
+public interface SubmissionImageRef {
+    Long getId();
+    String getImageKey();
+}
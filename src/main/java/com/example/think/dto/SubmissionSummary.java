@@ -0,0 +1,32 @@
+package com.example.think.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 제출 목록 조회용 프로젝션. 이미지 본문은 조회하지 않고 다운로드 URL만 제공한다.
+ */
+public interface SubmissionSummary {
+    Long getId();
+    Long getAssignmentId();
+    Long getStudentId();
+    String getStudentNumber();
+    String getStudentName();
+    LocalDateTime getSubmittedAt();
+    Long getImageSize();
+    String getImageKey();
+    // 빈 캔버스 제출이면 true (이미지는 저장되지 않음)
+    Boolean getBlank();
+
+    default String getImageUrl() {
+        String url = "/api/classroom/submissions/" + getId() + "/image";
+        return getImageKey() != null ? url + "?v=" + getImageKey() : url;
+    }
+
+    /**
+     * 채점 목록 등 여러 제출물을 한 번에 보여줄 때는 원본 대신 이 썸네일을 쓴다.
+     */
+    default String getThumbnailUrl() {
+        String url = "/api/classroom/submissions/" + getId() + "/image?size=thumb";
+        return getImageKey() != null ? url + "&v=" + getImageKey() : url;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.think.dto;
+
+import com.example.think.entity.UserRole;
+
+/**
+ * 학번으로 사용자를 찾을 때 쓰는 최소 프로젝션.
+ */
+public interface UserRef {
+    Long getId();
+    String getStudentId();
+    UserRole getRole();
+}
@@ -1,11 +1,14 @@
 package com.example.think.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Table(indexes = @Index(name = "idx_assignment_classroom_created", columnList = "classroom_id, createdAt, id"))
 @Getter @Setter
 public class Assignment {
     @Id
@@ -20,7 +23,7 @@ public class Assignment {
     @Column(nullable = false)
     private LocalDateTime dueDate;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "classroom_id")
     private Classroom classroom;
 
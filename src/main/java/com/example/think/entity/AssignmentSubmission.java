@@ -1,27 +1,50 @@
 package com.example.think.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Table(name = "assignment_submission", indexes = {
+    @Index(name = "idx_submission_assignment_submitted", columnList = "assignment_id, submittedAt, id"),
+    @Index(name = "idx_submission_student_submitted", columnList = "student_id, submittedAt, id"),
+    // 같은 이미지를 참조하는 제출물 수는 이 인덱스로 센다 (SubmissionImageCollector)
+    @Index(name = "idx_submission_image_key", columnList = "imageKey")
+})
 @Getter @Setter
 public class AssignmentSubmission {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = IdGenerators.ASSIGNMENT_SUBMISSION)
+    @TableGenerator(name = IdGenerators.ASSIGNMENT_SUBMISSION, table = IdGenerators.TABLE,
+        pkColumnName = IdGenerators.SEGMENT_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN,
+        pkColumnValue = IdGenerators.ASSIGNMENT_SUBMISSION, allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assignment_id")
     private Assignment assignment;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "student_id")
     private User student;
 
-    @Column(columnDefinition = "LONGTEXT")
-    private String imageData;
+    // SubmissionImageStore에 저장된 원본 이미지의 SHA-256 키
+    @Column(length = 64)
+    private String imageKey;
+
+    private Long imageSize;
+
+    @Column(length = 50)
+    private String imageMimeType;
+
+    // 빈 캔버스로 제출된 경우 이미지를 저장하지 않고 표시만 한다 (imageKey는 null)
+    @Column(nullable = false)
+    private boolean blank;
+
+    // 이미지 저장소 도입 이전의 base64 데이터(image_data 컬럼)는 LegacySubmissionImage로 따로 읽는다
 
     private LocalDateTime submittedAt;
 
@@ -29,4 +52,4 @@ public class AssignmentSubmission {
     protected void onCreate() {
         submittedAt = LocalDateTime.now();
     }
-} 
\ No newline at end of file
+}
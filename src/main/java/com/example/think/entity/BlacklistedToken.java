@@ -1,23 +1,26 @@
 package com.example.think.entity;
 
+import com.example.think.security.TokenDigest;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(indexes = @Index(name = "idx_blacklisted_token_expiry", columnList = "expiryDate"))
 @Getter @Setter
 public class BlacklistedToken {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, unique = true)
-    private String token;
+    // JWT 원문 대신 SHA-256 다이제스트를 저장한다 (기존 token 컬럼 재사용)
+    @Column(name = "token", nullable = false, unique = true, length = TokenDigest.LENGTH)
+    private String tokenHash;
 
     @Column(nullable = false)
     private LocalDateTime blacklistedAt;
 
     @Column(nullable = false)
     private LocalDateTime expiryDate;
-} 
\ No newline at end of file
+}
@@ -1,12 +1,18 @@
 package com.example.think.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.SQLRestriction;
+import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@SQLRestriction("deleted_at IS NULL")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Getter @Setter
 public class Classroom {
     @Id
@@ -21,15 +27,26 @@ public class Classroom {
     @Column(nullable = false, unique = true)
     private String classCode;
 
-    @ManyToOne
+    // 수강 등록 시 함께 갱신되는 수강생 수 (app.classroom.materializedStudentCount 사용 시 조회에 사용)
+    private Integer studentCount = 0;
+
+    // 삭제 요청 시각. 값이 있으면 모든 조회에서 제외되고 ClassroomReaper가 관련 데이터를 정리한다
+    @JsonIgnore
+    private LocalDateTime deletedAt;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "professor_id")
     private User professor;
 
+    // 명단은 /{id}/students 페이지 조회로만 제공한다 (목록 직렬화 시 지연 로딩 방지)
+    @JsonIgnore
     @ManyToMany
     @JoinTable(
         name = "classroom_students",
         joinColumns = @JoinColumn(name = "classroom_id"),
-        inverseJoinColumns = @JoinColumn(name = "student_id")
+        inverseJoinColumns = @JoinColumn(name = "student_id"),
+        // 기본키 (classroom_id, student_id)는 수강 여부 확인에, 아래 인덱스는 학생별 강의실 목록 조회에 사용
+        indexes = @Index(name = "idx_classroom_students_student", columnList = "student_id, classroom_id")
     )
     private Set<User> students = new HashSet<>();
 } 
\ No newline at end of file
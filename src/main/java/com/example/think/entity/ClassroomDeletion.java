@@ -0,0 +1,35 @@
+package com.example.think.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import java.time.LocalDateTime;
+
+/**
+ * 강의실 삭제 요청과 진행 상황. 강의실 행이 지워진 뒤에도 상태 조회를 위해 남는다.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_classroom_deletion_status", columnList = "status, requestedAt"))
+@Getter @Setter
+public class ClassroomDeletion {
+    @Id
+    private Long classroomId;
+
+    private String classroomName;
+
+    @Column(nullable = false)
+    private Long professorId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DeletionStatus status = DeletionStatus.PENDING;
+
+    private long deletedSubmissions;
+
+    private long deletedAssignments;
+
+    @Column(nullable = false)
+    private LocalDateTime requestedAt;
+
+    private LocalDateTime completedAt;
+}
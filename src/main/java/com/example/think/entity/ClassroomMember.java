@@ -9,13 +9,16 @@ import java.time.LocalDateTime;
 @Getter @Setter
 public class ClassroomMember {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = IdGenerators.CLASSROOM_MEMBER)
+    @TableGenerator(name = IdGenerators.CLASSROOM_MEMBER, table = IdGenerators.TABLE,
+        pkColumnName = IdGenerators.SEGMENT_COLUMN, valueColumnName = IdGenerators.VALUE_COLUMN,
+        pkColumnValue = IdGenerators.CLASSROOM_MEMBER, allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Classroom classroom;
 
     @Enumerated(EnumType.STRING)
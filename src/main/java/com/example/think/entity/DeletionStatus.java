@@ -0,0 +1,5 @@
+package com.example.think.entity;
+
+public enum DeletionStatus {
+    PENDING, IN_PROGRESS, COMPLETED
+}
@@ -0,0 +1,37 @@
+package com.example.think.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import java.time.LocalDateTime;
+
+/**
+ * 임시 저장본에 덧붙인 변경분. 직전 변경분 이후에 그린 획만 담으며 (StrokeCodec 형식),
+ * reset이면 그 이전의 그림을 모두 지우고 이 획들로 시작한다.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_draft_delta_draft_seq", columnNames = {"draft_id", "seq"}))
+@Getter @Setter
+public class DraftDelta {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "draft_id", nullable = false)
+    private Long draftId;
+
+    @Column(nullable = false)
+    private long seq;
+
+    private boolean reset;
+
+    @Column(nullable = false, columnDefinition = "BLOB")
+    private byte[] data;
+
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
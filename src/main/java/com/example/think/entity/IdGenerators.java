@@ -0,0 +1,19 @@
+package com.example.think.entity;
+
+/**
+ * 대량 입력 대상 엔티티의 풀링 id 생성기 설정.
+ * IDENTITY 전략은 INSERT마다 생성된 키를 받아야 해서 JDBC 배치가 꺼지므로,
+ * id_generator 테이블에서 ALLOCATION_SIZE 단위로 id 구간을 받아 메모리에서 나누어 쓴다.
+ */
+public final class IdGenerators {
+    public static final String TABLE = "id_generator";
+    public static final String SEGMENT_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+    public static final int ALLOCATION_SIZE = 50;
+
+    public static final String ASSIGNMENT_SUBMISSION = "assignment_submission";
+    public static final String CLASSROOM_MEMBER = "classroom_member";
+
+    private IdGenerators() {
+    }
+}
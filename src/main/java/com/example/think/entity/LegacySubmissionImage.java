@@ -0,0 +1,25 @@
+package com.example.think.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 이미지 저장소 도입 이전에 assignment_submission.image_data에 저장된 base64 데이터.
+ * 바이트코드 향상 없이는 @Basic(fetch = LAZY)가 동작하지 않으므로 AssignmentSubmission에서 떼어내
+ * 같은 테이블의 이 컬럼만 따로 매핑한다. 제출물을 읽을 때는 LONGTEXT를 읽지 않고, 옮길 때만 이 엔티티로 읽는다.
+ */
+@Entity
+@Table(name = "assignment_submission")
+@Getter @Setter
+public class LegacySubmissionImage {
+    // AssignmentSubmission의 ID (행은 항상 AssignmentSubmission으로 만든다)
+    @Id
+    private Long id;
+
+    @Column(name = "image_data", columnDefinition = "LONGTEXT")
+    private String imageData;
+}
@@ -0,0 +1,42 @@
+package com.example.think.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import java.time.LocalDateTime;
+
+/**
+ * 제출 전 그리고 있는 그림의 임시 저장본. (과제, 학생)마다 하나이며,
+ * 마지막 스냅샷과 그 이후에 받은 변경분(DraftDelta)을 합치면 현재 그림이 된다.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_submission_draft_assignment_student",
+                                             columnNames = {"assignment_id", "student_id"}))
+@Getter @Setter
+public class SubmissionDraft {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "assignment_id", nullable = false)
+    private Long assignmentId;
+
+    @Column(name = "student_id", nullable = false)
+    private Long studentId;
+
+    // 마지막으로 받은 변경분의 순번
+    @Column(nullable = false)
+    private long lastSeq;
+
+    // 스냅샷에 반영된 마지막 순번
+    @Column(nullable = false)
+    private long snapshotSeq;
+
+    // StrokeCodec 형식의 압축 결과 (아직 압축한 적이 없으면 null)
+    @Basic(fetch = FetchType.LAZY)
+    @Column(columnDefinition = "LONGBLOB")
+    private byte[] snapshot;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,20 @@
+package com.example.think.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * 저장소의 이미지 파일 하나에 대응하는 잠금용 행.
+ * 제출물이 이미지를 참조하도록 기록하는 트랜잭션과 참조가 없는 이미지를 지우는 SubmissionImageCollector가
+ * 같은 키의 이 행을 잠가, 지우는 중인 파일을 새 제출물이 참조하는 일이 없게 한다.
+ */
+@Entity
+@Getter @Setter
+public class SubmissionImageBlob {
+    @Id
+    @Column(length = 64)
+    private String imageKey;
+}
@@ -0,0 +1,25 @@
+package com.example.think.pagination;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+/**
+ * 요청된 페이지 크기를 설정된 범위로 제한한다.
+ * 커서 방식이므로 항상 첫 페이지(offset 0)만 요청하고, 위치는 쿼리 조건으로 넘긴다.
+ */
+@Component
+public class CursorPagination {
+
+    @Value("${app.pagination.defaultPageSize}")
+    private int defaultPageSize;
+
+    @Value("${app.pagination.maxPageSize}")
+    private int maxPageSize;
+
+    public Pageable pageable(Integer size) {
+        int resolved = size == null || size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+        return PageRequest.of(0, resolved);
+    }
+}
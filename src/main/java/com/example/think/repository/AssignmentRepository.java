@@ -1,7 +1,14 @@
 package com.example.think.repository;
 
 import com.example.think.entity.Assignment;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -9,4 +16,25 @@ public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
     List<Assignment> findByClassroomId(Long classroomId);
     Optional<Assignment> findByIdAndClassroom_Students_Id(Long assignmentId, Long studentId);
     List<Assignment> findByClassroom_Students_Id(Long studentId);
+
+    // 삭제 요청된 강의실의 과제는 찾지 않는다 (제출/수정 경로)
+    @Query("SELECT a FROM Assignment a JOIN a.classroom c WHERE a.id = :id AND c.deletedAt IS NULL")
+    Optional<Assignment> findActiveById(@Param("id") Long id);
+
+    @Query("SELECT COUNT(a) > 0 FROM Assignment a JOIN a.classroom c WHERE a.id = :id AND c.deletedAt IS NULL")
+    boolean existsActiveById(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM Assignment a WHERE a.classroom.id = :classroomId")
+    int deleteByClassroomId(@Param("classroomId") Long classroomId);
+
+    // (createdAt, id) 키셋 페이지 조회 (강의실과 담당 교수 포함)
+    @EntityGraph(attributePaths = {"classroom", "classroom.professor"})
+    @Query("SELECT a FROM Assignment a WHERE a.classroom.id = :classroomId " +
+           "AND (a.createdAt > :createdAt OR (a.createdAt = :createdAt AND a.id > :id)) " +
+           "ORDER BY a.createdAt, a.id")
+    Slice<Assignment> findPageByClassroomId(@Param("classroomId") Long classroomId,
+                                            @Param("createdAt") LocalDateTime createdAt,
+                                            @Param("id") Long id,
+                                            Pageable pageable);
 } 
\ No newline at end of file
@@ -1,8 +1,18 @@
 package com.example.think.repository;
 
+import com.example.think.dto.SubmissionImageRef;
+import com.example.think.dto.SubmissionSummary;
 import com.example.think.entity.AssignmentSubmission;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,4 +26,70 @@ public interface AssignmentSubmissionRepository extends JpaRepository<Assignment
     
     // 과제 ID와 학생 ID로 제출물 찾기
     Optional<AssignmentSubmission> findByAssignment_IdAndStudent_Id(Long assignmentId, Long studentId);
-}
\ No newline at end of file
+
+    // 학생별 제출 목록 요약 (이미지 컬럼 제외)
+    @Query("SELECT s.id AS id, s.assignment.id AS assignmentId, st.id AS studentId, " +
+           "st.studentId AS studentNumber, st.name AS studentName, s.submittedAt AS submittedAt, " +
+           "s.imageSize AS imageSize, s.imageKey AS imageKey, s.blank AS blank " +
+           "FROM AssignmentSubmission s JOIN s.student st " +
+           "WHERE st.id = :studentId ORDER BY s.submittedAt, s.id")
+    List<SubmissionSummary> findSummariesByStudentId(@Param("studentId") Long studentId);
+
+    // 제출물 하나의 요약 (업로드 응답용)
+    @Query("SELECT s.id AS id, s.assignment.id AS assignmentId, st.id AS studentId, " +
+           "st.studentId AS studentNumber, st.name AS studentName, s.submittedAt AS submittedAt, " +
+           "s.imageSize AS imageSize, s.imageKey AS imageKey, s.blank AS blank " +
+           "FROM AssignmentSubmission s JOIN s.student st " +
+           "WHERE s.id = :id")
+    Optional<SubmissionSummary> findSummaryById(@Param("id") Long id);
+
+    // 과제별 제출 목록 요약의 (submittedAt, id) 키셋 페이지 조회
+    @Query("SELECT s.id AS id, s.assignment.id AS assignmentId, st.id AS studentId, " +
+           "st.studentId AS studentNumber, st.name AS studentName, s.submittedAt AS submittedAt, " +
+           "s.imageSize AS imageSize, s.imageKey AS imageKey, s.blank AS blank " +
+           "FROM AssignmentSubmission s JOIN s.student st " +
+           "WHERE s.assignment.id = :assignmentId " +
+           "AND (s.submittedAt > :submittedAt OR (s.submittedAt = :submittedAt AND s.id > :id)) " +
+           "ORDER BY s.submittedAt, s.id")
+    Slice<SubmissionSummary> findSummaryPageByAssignmentId(@Param("assignmentId") Long assignmentId,
+                                                           @Param("submittedAt") LocalDateTime submittedAt,
+                                                           @Param("id") Long id,
+                                                           Pageable pageable);
+
+    // 학생별 제출 목록 요약의 (submittedAt, id) 키셋 페이지 조회
+    @Query("SELECT s.id AS id, s.assignment.id AS assignmentId, st.id AS studentId, " +
+           "st.studentId AS studentNumber, st.name AS studentName, s.submittedAt AS submittedAt, " +
+           "s.imageSize AS imageSize, s.imageKey AS imageKey, s.blank AS blank " +
+           "FROM AssignmentSubmission s JOIN s.student st " +
+           "WHERE st.id = :studentId " +
+           "AND (s.submittedAt > :submittedAt OR (s.submittedAt = :submittedAt AND s.id > :id)) " +
+           "ORDER BY s.submittedAt, s.id")
+    Slice<SubmissionSummary> findSummaryPageByStudentId(@Param("studentId") Long studentId,
+                                                        @Param("submittedAt") LocalDateTime submittedAt,
+                                                        @Param("id") Long id,
+                                                        Pageable pageable);
+
+    // 수정/삭제/이미지 조회용 단건 조회 (권한 확인에 필요한 연관 엔티티 포함)
+    @EntityGraph(attributePaths = {"student", "assignment", "assignment.classroom", "assignment.classroom.professor"})
+    Optional<AssignmentSubmission> findWithAssignmentById(Long id);
+
+    // 같은 이미지를 참조하는 제출물이 남아 있는지 확인
+    boolean existsByImageKey(String imageKey);
+
+    // 삭제 요청된 강의실의 제출물을 limit개씩 조회 (이미지 본문은 읽지 않음)
+    @Query(value = "SELECT s.id AS id, s.image_key AS imageKey FROM assignment_submission s " +
+                   "JOIN assignment a ON a.id = s.assignment_id " +
+                   "WHERE a.classroom_id = :classroomId ORDER BY s.id LIMIT :limit", nativeQuery = true)
+    List<SubmissionImageRef> findImageRefsByClassroomId(@Param("classroomId") Long classroomId,
+                                                        @Param("limit") int limit);
+
+    // 저장소로 옮기지 않은 base64 이미지가 남은 제출물 ID를 limit개씩 조회 (이미지 본문은 읽지 않음)
+    @Query(value = "SELECT s.id FROM assignment_submission s " +
+                   "WHERE s.image_key IS NULL AND s.blank = FALSE AND s.image_data IS NOT NULL AND s.id > :afterId " +
+                   "ORDER BY s.id LIMIT :limit", nativeQuery = true)
+    List<Long> findLegacyImageIds(@Param("afterId") Long afterId, @Param("limit") int limit);
+
+    @Modifying
+    @Query("DELETE FROM AssignmentSubmission s WHERE s.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -2,9 +2,20 @@ package com.example.think.repository;
 
 import com.example.think.entity.BlacklistedToken;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
+import java.util.List;
 
 public interface BlacklistedTokenRepository extends JpaRepository<BlacklistedToken, Long> {
-    boolean existsByToken(String token);
-    void deleteByExpiryDateBefore(LocalDateTime date);
-} 
\ No newline at end of file
+    List<BlacklistedToken> findByExpiryDateAfter(LocalDateTime date);
+    List<BlacklistedToken> findByBlacklistedAtAfter(LocalDateTime date);
+
+    // 만료된 토큰을 최대 limit 행까지 한 번의 DELETE로 지운다 (MySQL DELETE ... LIMIT)
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM blacklisted_token WHERE expiry_date < :now LIMIT :limit", nativeQuery = true)
+    int deleteExpiredBatch(@Param("now") LocalDateTime now, @Param("limit") int limit);
+} 
@@ -0,0 +1,12 @@
+package com.example.think.repository;
+
+import com.example.think.entity.ClassroomDeletion;
+import com.example.think.entity.DeletionStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface ClassroomDeletionRepository extends JpaRepository<ClassroomDeletion, Long> {
+    List<ClassroomDeletion> findByStatusNotOrderByRequestedAt(DeletionStatus status);
+}
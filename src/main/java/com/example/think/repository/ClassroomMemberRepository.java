@@ -2,8 +2,15 @@ package com.example.think.repository;
 
 import com.example.think.entity.ClassroomMember;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import java.util.Optional;
 
 public interface ClassroomMemberRepository extends JpaRepository<ClassroomMember, Long> {
     Optional<ClassroomMember> findByClassroomIdAndUserId(Long classroomId, Long userId);
+
+    @Modifying
+    @Query("DELETE FROM ClassroomMember m WHERE m.classroom.id = :classroomId")
+    int deleteByClassroomId(@Param("classroomId") Long classroomId);
 } 
\ No newline at end of file
@@ -1,15 +1,112 @@
 package com.example.think.repository;
 
+import com.example.think.dto.ClassroomStudentCount;
 import com.example.think.entity.Classroom;
 import com.example.think.entity.User;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ClassroomRepository extends JpaRepository<Classroom, Long> {
-    List<Classroom> findByProfessor(User professor);
-    List<Classroom> findByStudentsContaining(User student);
     Optional<Classroom> findByClassCode(String classCode);
+
+    @Query("SELECT c.id FROM Classroom c WHERE c.classCode = :classCode")
+    Optional<Long> findIdByClassCode(@Param("classCode") String classCode);
+
+    // 이미 등록된 경우 0을 돌려준다 (기본키 (classroom_id, student_id) 충돌은 무시)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO classroom_students (classroom_id, student_id) " +
+                   "VALUES (:classroomId, :studentId)", nativeQuery = true)
+    int insertStudentIgnoringDuplicate(@Param("classroomId") Long classroomId, @Param("studentId") Long studentId);
+
+    boolean existsByIdAndProfessor_Id(Long id, Long professorId);
+
+    // 수강 여부 확인: classroom_students 기본키 (classroom_id, student_id) 인덱스 조회 한 번
+    @Query(value = "SELECT COUNT(*) FROM classroom_students cs JOIN classroom c ON c.id = cs.classroom_id " +
+                   "WHERE cs.classroom_id = :classroomId AND cs.student_id = :studentId " +
+                   "AND c.deleted_at IS NULL", nativeQuery = true)
+    long countMembership(@Param("classroomId") Long classroomId, @Param("studentId") Long studentId);
+
+    default boolean existsByClassroomIdAndStudentId(Long classroomId, Long studentId) {
+        return countMembership(classroomId, studentId) > 0;
+    }
+
+    @Query(value = "SELECT student_id FROM classroom_students " +
+                   "WHERE classroom_id = :classroomId AND student_id IN (:studentIds)", nativeQuery = true)
+    List<Long> findEnrolledStudentIds(@Param("classroomId") Long classroomId,
+                                      @Param("studentIds") Collection<Long> studentIds);
+
+    // 강의실 상세 조회 (담당 교수 포함)
+    @EntityGraph(attributePaths = "professor")
+    Optional<Classroom> findWithProfessorById(Long id);
+
+    // id 키셋 페이지 조회
+    @EntityGraph(attributePaths = "professor")
+    @Query("SELECT c FROM Classroom c WHERE c.professor.id = :professorId AND c.id > :id ORDER BY c.id")
+    Slice<Classroom> findPageByProfessorId(@Param("professorId") Long professorId,
+                                           @Param("id") Long id,
+                                           Pageable pageable);
+
+    @EntityGraph(attributePaths = "professor")
+    @Query("SELECT c FROM Classroom c JOIN c.students st WHERE st.id = :studentId AND c.id > :id ORDER BY c.id")
+    Slice<Classroom> findPageByStudentId(@Param("studentId") Long studentId,
+                                         @Param("id") Long id,
+                                         Pageable pageable);
+
+    // 담당 강의실별 수강생 수를 한 번의 GROUP BY로 집계
+    @Query("SELECT c.id AS classroomId, c.name AS classroomName, COUNT(st) AS studentCount " +
+           "FROM Classroom c LEFT JOIN c.students st WHERE c.professor.id = :professorId " +
+           "GROUP BY c.id, c.name ORDER BY c.id")
+    List<ClassroomStudentCount> countStudentsByProfessorId(@Param("professorId") Long professorId);
+
+    // 수강 중인 강의실별 수강생 수를 한 번의 GROUP BY로 집계
+    @Query("SELECT c.id AS classroomId, c.name AS classroomName, COUNT(st) AS studentCount " +
+           "FROM Classroom c JOIN c.students me LEFT JOIN c.students st WHERE me.id = :studentId " +
+           "GROUP BY c.id, c.name ORDER BY c.id")
+    List<ClassroomStudentCount> countStudentsByStudentId(@Param("studentId") Long studentId);
+
+    @Query("SELECT COUNT(st) FROM Classroom c JOIN c.students st WHERE c.id = :classroomId")
+    long countStudentsByClassroomId(@Param("classroomId") Long classroomId);
+
+    // 저장된 studentCount 컬럼을 그대로 읽는 조회 (조인 없음)
+    @Query("SELECT c.id AS classroomId, c.name AS classroomName, CAST(c.studentCount AS long) AS studentCount " +
+           "FROM Classroom c WHERE c.professor.id = :professorId ORDER BY c.id")
+    List<ClassroomStudentCount> findStoredStudentCountsByProfessorId(@Param("professorId") Long professorId);
+
+    @Query("SELECT c.id AS classroomId, c.name AS classroomName, CAST(c.studentCount AS long) AS studentCount " +
+           "FROM Classroom c JOIN c.students me WHERE me.id = :studentId ORDER BY c.id")
+    List<ClassroomStudentCount> findStoredStudentCountsByStudentId(@Param("studentId") Long studentId);
+
+    @Modifying
+    @Query("UPDATE Classroom c SET c.studentCount = c.studentCount + :delta WHERE c.id = :classroomId")
+    int adjustStudentCount(@Param("classroomId") Long classroomId, @Param("delta") int delta);
+
+    // studentCount 컬럼을 실제 수강 명단 기준으로 다시 계산
+    @Modifying
+    @Query(value = "UPDATE classroom c SET c.student_count = " +
+                   "(SELECT COUNT(*) FROM classroom_students cs WHERE cs.classroom_id = c.id)", nativeQuery = true)
+    int recalculateStudentCounts();
+
+    // 삭제 요청된 강의실 정리용 (엔티티 조회에서는 보이지 않으므로 네이티브 쿼리 사용)
+    @Modifying
+    @Query(value = "DELETE FROM classroom_students WHERE classroom_id = :classroomId", nativeQuery = true)
+    int deleteStudentsByClassroomId(@Param("classroomId") Long classroomId);
+
+    @Modifying
+    @Query(value = "DELETE FROM classroom WHERE id = :classroomId AND deleted_at IS NOT NULL", nativeQuery = true)
+    int purgeDeletedById(@Param("classroomId") Long classroomId);
+
+    @Query("SELECT st FROM Classroom c JOIN c.students st WHERE c.id = :classroomId AND st.id > :id ORDER BY st.id")
+    Slice<User> findStudentPage(@Param("classroomId") Long classroomId,
+                                @Param("id") Long id,
+                                Pageable pageable);
 } 
\ No newline at end of file
@@ -0,0 +1,35 @@
+package com.example.think.repository;
+
+import com.example.think.entity.DraftDelta;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DraftDeltaRepository extends JpaRepository<DraftDelta, Long> {
+    // 스냅샷 이후의 변경분을 순서대로 조회
+    List<DraftDelta> findByDraftIdAndSeqGreaterThanOrderBySeq(Long draftId, long seq);
+
+    Optional<DraftDelta> findByDraftIdAndSeq(Long draftId, long seq);
+
+    long countByDraftId(Long draftId);
+
+    // 스냅샷에 반영된 변경분 정리
+    @Modifying
+    @Query("DELETE FROM DraftDelta d WHERE d.draftId = :draftId AND d.seq <= :seq")
+    int deleteUpTo(@Param("draftId") Long draftId, @Param("seq") long seq);
+
+    @Modifying
+    @Query("DELETE FROM DraftDelta d WHERE d.draftId = :draftId")
+    int deleteByDraftId(@Param("draftId") Long draftId);
+
+    // 삭제된 강의실의 과제에 딸린 변경분 정리 (임시 저장본보다 먼저 지운다)
+    @Modifying
+    @Query(value = "DELETE FROM draft_delta WHERE draft_id IN (SELECT d.id FROM submission_draft d " +
+                   "JOIN assignment a ON a.id = d.assignment_id WHERE a.classroom_id = :classroomId)", nativeQuery = true)
+    int deleteByClassroomId(@Param("classroomId") Long classroomId);
+}
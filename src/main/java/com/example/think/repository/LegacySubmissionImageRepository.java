@@ -0,0 +1,16 @@
+package com.example.think.repository;
+
+import com.example.think.entity.LegacySubmissionImage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface LegacySubmissionImageRepository extends JpaRepository<LegacySubmissionImage, Long> {
+    // 저장소로 옮긴 뒤 이전 base64 데이터를 비운다
+    @Modifying
+    @Query("UPDATE LegacySubmissionImage l SET l.imageData = NULL WHERE l.id = :id AND l.imageData IS NOT NULL")
+    int clearImageData(@Param("id") Long id);
+}
@@ -0,0 +1,36 @@
+package com.example.think.repository;
+
+import com.example.think.entity.SubmissionDraft;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface SubmissionDraftRepository extends JpaRepository<SubmissionDraft, Long> {
+    Optional<SubmissionDraft> findByAssignmentIdAndStudentId(Long assignmentId, Long studentId);
+
+    // 같은 학생의 변경분이 동시에 들어와도 순번이 꼬이지 않도록 행을 잠그고 읽는다
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM SubmissionDraft d WHERE d.assignmentId = :assignmentId AND d.studentId = :studentId")
+    Optional<SubmissionDraft> findForUpdate(@Param("assignmentId") Long assignmentId, @Param("studentId") Long studentId);
+
+    // 이미 있으면 0을 돌려준다 (유니크 키 (assignment_id, student_id) 충돌은 무시)
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO submission_draft (assignment_id, student_id, last_seq, snapshot_seq, updated_at) " +
+                   "VALUES (:assignmentId, :studentId, 0, 0, :now)", nativeQuery = true)
+    int insertIgnoringDuplicate(@Param("assignmentId") Long assignmentId,
+                                @Param("studentId") Long studentId,
+                                @Param("now") LocalDateTime now);
+
+    // 삭제된 강의실의 과제에 딸린 임시 저장본 정리
+    @Modifying
+    @Query(value = "DELETE FROM submission_draft WHERE assignment_id IN " +
+                   "(SELECT a.id FROM assignment a WHERE a.classroom_id = :classroomId)", nativeQuery = true)
+    int deleteByClassroomId(@Param("classroomId") Long classroomId);
+}
@@ -0,0 +1,27 @@
+package com.example.think.repository;
+
+import com.example.think.entity.SubmissionImageBlob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.Optional;
+
+@Repository
+public interface SubmissionImageBlobRepository extends JpaRepository<SubmissionImageBlob, String> {
+    // 이미 있으면 0을 돌려준다
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO submission_image_blob (image_key) VALUES (:imageKey)", nativeQuery = true)
+    int insertIgnoringDuplicate(@Param("imageKey") String imageKey);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM SubmissionImageBlob b WHERE b.imageKey = :imageKey")
+    Optional<SubmissionImageBlob> findForUpdate(@Param("imageKey") String imageKey);
+
+    @Modifying
+    @Query("DELETE FROM SubmissionImageBlob b WHERE b.imageKey = :imageKey")
+    int deleteByImageKey(@Param("imageKey") String imageKey);
+}
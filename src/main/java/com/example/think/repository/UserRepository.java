@@ -1,9 +1,16 @@
 package com.example.think.repository;
 
+import com.example.think.dto.UserRef;
 import com.example.think.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -12,4 +19,17 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     Boolean existsByEmail(String email);
     Boolean existsByStudentId(String studentId);
+
+    // 수강생 일괄 등록 시 학번 묶음을 한 번에 조회
+    List<UserRef> findByStudentIdIn(Collection<String> studentIds);
+
+    // 로그인 시 캐시된 사용자 대신 현재 비밀번호 해시를 읽는다
+    @Query("SELECT u.password FROM User u WHERE u.id = :id")
+    Optional<String> findPasswordById(@Param("id") Long id);
+
+    // 비밀번호 열만 바꾼다. 그 사이 비밀번호가 바뀌었으면 0을 돌려준다
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newHash WHERE u.id = :id AND u.password = :oldHash")
+    int updatePassword(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
 } 
\ No newline at end of file
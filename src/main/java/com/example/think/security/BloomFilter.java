@@ -0,0 +1,51 @@
+package com.example.think.security;
+
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * SHA-256 hex 다이제스트 전용 블룸 필터.
+ * 입력이 이미 균일한 해시이므로 앞 16바이트를 두 개의 해시로 나눠 이중 해싱한다.
+ */
+public class BloomFilter {
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    public BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitCount = Math.max(64, m);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        this.bits = new AtomicLongArray((int) ((bitCount + 63) / 64));
+    }
+
+    public void put(String hexDigest) {
+        long h1 = HexFormat.fromHexDigitsToLong(hexDigest, 0, 16);
+        long h2 = HexFormat.fromHexDigitsToLong(hexDigest, 16, 32);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    public boolean mightContain(String hexDigest) {
+        long h1 = HexFormat.fromHexDigitsToLong(hexDigest, 0, 16);
+        long h2 = HexFormat.fromHexDigitsToLong(hexDigest, 16, 32);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.think.security;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * 항목마다 만료 시각을 두는 크기 제한 캐시 (VerifiedClaimsCache, MembershipCache, UserCache).
+ * 가득 차면 가장 오래 쓰지 않은 항목을 버리고 새 항목을 넣으므로, 살아 있는 항목으로 가득 차도 조회/저장은 O(1)이다.
+ * 큰 캐시는 키의 해시로 구간을 나누어 구간마다 따로 잠근다. 이때 LRU 순서는 구간 안에서만 지켜진다.
+ */
+public class BoundedExpiringCache<K, V> {
+    private static final int SEGMENTS = 16;
+    private static final int MIN_SEGMENT_SIZE = 1024;
+
+    private final Segment<K, V>[] segments;
+
+    @SuppressWarnings("unchecked")
+    public BoundedExpiringCache(int maxEntries) {
+        int count = maxEntries >= SEGMENTS * MIN_SEGMENT_SIZE ? SEGMENTS : 1;
+        segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment<>(maxEntries / count + (i < maxEntries % count ? 1 : 0));
+        }
+    }
+
+    /**
+     * 없거나 만료되었으면 null.
+     */
+    public V get(K key, long nowMillis) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            Entry<V> entry = segment.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt <= nowMillis) {
+                segment.remove(key);
+                return null;
+            }
+            return entry.value;
+        }
+    }
+
+    public void put(K key, V value, long expiresAtMillis) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.put(key, new Entry<>(value, expiresAtMillis));
+        }
+    }
+
+    public void invalidate(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.remove(key);
+        }
+    }
+
+    /**
+     * 조건에 맞는 키를 모두 지운다. 전체를 훑으므로 드문 무효화에만 쓴다.
+     */
+    public int invalidateIf(Predicate<? super K> predicate) {
+        int removed = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                Iterator<K> keys = segment.keySet().iterator();
+                while (keys.hasNext()) {
+                    if (predicate.test(keys.next())) {
+                        keys.remove();
+                        removed++;
+                    }
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * 만료된 항목을 지운다. 전체를 훑으므로 요청 경로가 아닌 주기 작업에서 부른다.
+     */
+    public int evictExpired(long nowMillis) {
+        int removed = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                Iterator<Entry<V>> entries = segment.values().iterator();
+                while (entries.hasNext()) {
+                    if (entries.next().expiresAt <= nowMillis) {
+                        entries.remove();
+                        removed++;
+                    }
+                }
+            }
+        }
+        return removed;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        if (segments.length == 1) {
+            return segments[0];
+        }
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+    }
+
+    // 접근 순서 LinkedHashMap: 크기를 넘으면 가장 오래 쓰지 않은 항목을 버린다
+    private static final class Segment<K, V> extends LinkedHashMap<K, Entry<V>> {
+        private final int capacity;
+
+        private Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+            return size() > capacity;
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.think.security;
+
+import com.example.think.entity.UserRole;
+import com.example.think.repository.ClassroomRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 강의실 접근 권한 확인. 담당 교수이거나 수강 중인 학생이면 접근할 수 있다.
+ * 수강 명단을 읽지 않고 인덱스 조회 한 번으로 판단하며, 결과는 짧은 시간 캐시한다.
+ *
+ * <pre>
+ * &#64;PreAuthorize("&#64;classroomAccess.canAccess(#id, principal)")
+ * </pre>
+ */
+@Component("classroomAccess")
+public class ClassroomAccessEvaluator {
+    private static final Logger logger = LoggerFactory.getLogger(ClassroomAccessEvaluator.class);
+
+    private final ClassroomRepository classroomRepository;
+    private final MembershipCache cache;
+
+    @Autowired
+    public ClassroomAccessEvaluator(ClassroomRepository classroomRepository,
+                                    @Value("${app.classroom.accessCacheTtlMs}") long ttlMillis,
+                                    @Value("${app.classroom.accessCacheSize}") int maxEntries) {
+        this.classroomRepository = classroomRepository;
+        this.cache = new MembershipCache(ttlMillis, maxEntries);
+    }
+
+    public boolean canAccess(Long classroomId, Object principal) {
+        if (classroomId == null || !(principal instanceof UserPrincipal)) {
+            return false;
+        }
+        UserPrincipal user = (UserPrincipal) principal;
+        long now = System.currentTimeMillis();
+        Boolean cached = cache.get(classroomId, user.getId(), now);
+        if (cached != null) {
+            return cached;
+        }
+
+        boolean allowed;
+        if (user.getRole() == UserRole.PROFESSOR) {
+            allowed = classroomRepository.existsByIdAndProfessor_Id(classroomId, user.getId());
+        } else if (user.getRole() == UserRole.STUDENT) {
+            allowed = classroomRepository.existsByClassroomIdAndStudentId(classroomId, user.getId());
+        } else {
+            allowed = false;
+        }
+        cache.put(classroomId, user.getId(), allowed, now);
+
+        if (!allowed) {
+            logger.warn("User {} denied access to classroom {}", user.getStudentId(), classroomId);
+        }
+        return allowed;
+    }
+
+    public void evict(Long classroomId, Long userId) {
+        cache.invalidate(classroomId, userId);
+    }
+
+    public void evictClassroom(Long classroomId) {
+        cache.invalidateClassroom(classroomId);
+    }
+}
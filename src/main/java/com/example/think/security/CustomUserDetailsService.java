@@ -1,7 +1,6 @@
 package com.example.think.security;
 
 import com.example.think.entity.User;
-import com.example.think.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -15,13 +14,13 @@ import lombok.RequiredArgsConstructor;
 public class CustomUserDetailsService implements UserDetailsService {
     private static final Logger logger = LoggerFactory.getLogger(CustomUserDetailsService.class);
     
-    private final UserRepository userRepository;
+    private final UserLookup userLookup;
 
     @Override
     public UserDetails loadUserByUsername(String studentId) throws UsernameNotFoundException {
         logger.debug("Loading user by studentId: {}", studentId);
         
-        User user = userRepository.findByStudentId(studentId)
+        User user = userLookup.findByStudentId(studentId)
             .orElseThrow(() -> {
                 logger.error("User not found with studentId: {}", studentId);
                 return new UsernameNotFoundException("User not found with studentId: " + studentId);
@@ -1,5 +1,6 @@
 package com.example.think.security;
 
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,18 +12,16 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
-import com.example.think.repository.BlacklistedTokenRepository;
-import org.springframework.beans.factory.annotation.Autowired;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
     
     private final JwtTokenProvider tokenProvider;
-    private final BlacklistedTokenRepository blacklistedTokenRepository;
+    private final TokenRevocationCache tokenRevocationCache;
 
-    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, BlacklistedTokenRepository blacklistedTokenRepository) {
+    public JwtAuthenticationFilter(JwtTokenProvider tokenProvider, TokenRevocationCache tokenRevocationCache) {
         this.tokenProvider = tokenProvider;
-        this.blacklistedTokenRepository = blacklistedTokenRepository;
+        this.tokenRevocationCache = tokenRevocationCache;
     }
 
     @Override
@@ -34,21 +33,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
             if (StringUtils.hasText(jwt)) {
                 // 블랙리스트 확인
-                if (blacklistedTokenRepository != null && blacklistedTokenRepository.existsByToken(jwt)) {
+                String tokenHash = TokenDigest.of(jwt);
+                if (tokenRevocationCache.isRevokedDigest(tokenHash)) {
                     logger.error("Blacklisted token attempted to access");
                     response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "로그아웃된 토큰입니다.");
                     return;
                 }
 
-                if (tokenProvider.validateToken(jwt)) {
-                    Authentication authentication = tokenProvider.getAuthentication(jwt);
-                    if (authentication != null) {
-                        SecurityContextHolder.getContext().setAuthentication(authentication);
-                        logger.debug("Set Authentication to security context for '{}', uri: {}", 
-                            authentication.getName(), request.getRequestURI());
-                    }
-                } else {
-                    logger.debug("Invalid JWT token");
+                try {
+                    Authentication authentication = tokenProvider.getAuthentication(jwt, tokenHash);
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    logger.debug("Set Authentication to security context for '{}', uri: {}", 
+                        authentication.getName(), request.getRequestURI());
+                } catch (JwtException | IllegalArgumentException ex) {
+                    logger.debug("Invalid JWT token: {}", ex.getMessage());
                 }
             } else {
                 logger.debug("No JWT token found in request");
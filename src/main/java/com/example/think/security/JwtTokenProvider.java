@@ -1,6 +1,7 @@
 package com.example.think.security;
 
 import com.example.think.entity.User;
+import com.example.think.entity.UserRole;
 import com.example.think.repository.UserRepository;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
@@ -8,12 +9,15 @@ import io.jsonwebtoken.security.SignatureException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
 import lombok.RequiredArgsConstructor;
 import jakarta.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.Date;
 import java.nio.charset.StandardCharsets;
 import javax.crypto.SecretKey;
@@ -22,6 +26,8 @@ import javax.crypto.SecretKey;
 @RequiredArgsConstructor
 public class JwtTokenProvider {
     private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_ROLE = "role";
 
     private final UserRepository userRepository;
 
@@ -31,12 +37,24 @@ public class JwtTokenProvider {
     @Value("${app.jwtExpirationInMs}")
     private int jwtExpirationInMs;
 
+    @Value("${app.jwtClaimsCacheSize}")
+    private int jwtClaimsCacheSize;
+
     private SecretKey key;
 
+    // 스레드 안전한 불변 파서. 요청마다 새로 만들지 않는다.
+    private JwtParser parser;
+
+    private VerifiedClaimsCache claimsCache;
+
     @PostConstruct
     public void init() {
         byte[] keyBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        this.claimsCache = new VerifiedClaimsCache(jwtClaimsCacheSize);
     }
 
     public String generateToken(User user) {
@@ -45,43 +63,88 @@ public class JwtTokenProvider {
 
         return Jwts.builder()
                 .setSubject(user.getUsername())
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_ROLE, user.getRole().name())
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
                 .signWith(key)
                 .compact();
     }
 
+    /**
+     * 서명을 한 번 검증하고 클레임만으로 인증 정보를 만든다.
+     * 유효하지 않은 토큰이면 JwtException을 던진다.
+     */
     public Authentication getAuthentication(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return getAuthentication(token, TokenDigest.of(token));
+    }
+
+    public Authentication getAuthentication(String token, String tokenHash) {
+        Claims claims = parseClaims(token, tokenHash);
+        UserPrincipal principal = toPrincipal(claims);
 
+        logger.debug("Retrieved user from token: {}, role: {}", principal.getStudentId(), principal.getRole());
+
+        return new UsernamePasswordAuthenticationToken(principal, "", principal.getAuthorities());
+    }
+
+    private UserPrincipal toPrincipal(Claims claims) {
+        Number userId = claims.get(CLAIM_USER_ID, Number.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        if (userId != null && role != null) {
+            return UserPrincipal.fromClaims(userId.longValue(), claims.getSubject(), UserRole.valueOf(role));
+        }
+
+        // 클레임 도입 이전에 발급된 토큰은 DB에서 사용자 정보를 읽는다
         User user = userRepository.findByStudentId(claims.getSubject())
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with studentId: " + claims.getSubject()));
-        
-        logger.debug("Retrieved user from token: {}, role: {}", user.getStudentId(), user.getRole());
-        
-        return new UsernamePasswordAuthenticationToken(user, "", user.getAuthorities());
+        return UserPrincipal.create(user);
+    }
+
+    public LocalDateTime getExpiryDate(String token) {
+        return LocalDateTime.ofInstant(parseClaims(token).getExpiration().toInstant(), ZoneId.systemDefault());
     }
 
     public String getUserIdFromJWT(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return parseClaims(token).getSubject();
+    }
+
+    private Claims parseClaims(String token) {
+        return parseClaims(token, TokenDigest.of(token));
+    }
+
+    /**
+     * 같은 토큰은 만료 전까지 서명을 다시 검증하지 않고 캐시된 클레임을 사용한다.
+     */
+    private Claims parseClaims(String token, String tokenHash) {
+        long now = System.currentTimeMillis();
+        Claims cached = claimsCache.get(tokenHash, now);
+        if (cached != null) {
+            return cached;
+        }
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        claimsCache.put(tokenHash, claims, now);
+        return claims;
+    }
+
+    /**
+     * 로그아웃된 토큰의 캐시 항목을 제거한다.
+     */
+    public void evictClaims(String tokenHash) {
+        claimsCache.invalidate(tokenHash);
+    }
 
-        return claims.getSubject();
+    @Scheduled(fixedDelay = 60000)
+    public void evictExpiredClaims() {
+        int evicted = claimsCache.evictExpired(System.currentTimeMillis());
+        if (evicted > 0) {
+            logger.debug("Evicted {} expired JWT claims cache entries", evicted);
+        }
     }
 
     public boolean validateToken(String authToken) {
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(authToken);
+            parseClaims(authToken);
             return true;
         } catch (SignatureException ex) {
             logger.error("Invalid JWT signature");
@@ -0,0 +1,67 @@
+package com.example.think.security;
+
+/**
+ * (강의실, 사용자) 별 접근 가능 여부를 짧은 시간 동안 보관한다.
+ * 허용/거부 결과를 모두 캐시하며, 수강 등록이나 강의실 삭제 시 해당 항목을 무효화한다.
+ * 최대 개수를 넘으면 가장 오래 쓰지 않은 항목을 버린다.
+ */
+public class MembershipCache {
+    private final long ttlMillis;
+    private final BoundedExpiringCache<Key, Boolean> entries;
+
+    public MembershipCache(long ttlMillis, int maxEntries) {
+        this.ttlMillis = ttlMillis;
+        this.entries = new BoundedExpiringCache<>(maxEntries);
+    }
+
+    /**
+     * 캐시된 결과가 없거나 만료되었으면 null.
+     */
+    public Boolean get(Long classroomId, Long userId, long nowMillis) {
+        return entries.get(new Key(classroomId, userId), nowMillis);
+    }
+
+    public void put(Long classroomId, Long userId, boolean allowed, long nowMillis) {
+        entries.put(new Key(classroomId, userId), allowed, nowMillis + ttlMillis);
+    }
+
+    public void invalidate(Long classroomId, Long userId) {
+        entries.invalidate(new Key(classroomId, userId));
+    }
+
+    public void invalidateClassroom(Long classroomId) {
+        entries.invalidateIf(key -> key.classroomId == classroomId.longValue());
+    }
+
+    public int evictExpired(long nowMillis) {
+        return entries.evictExpired(nowMillis);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private static final class Key {
+        private final long classroomId;
+        private final long userId;
+
+        private Key(long classroomId, long userId) {
+            this.classroomId = classroomId;
+            this.userId = userId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return classroomId == other.classroomId && userId == other.userId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(classroomId) * 31 + Long.hashCode(userId);
+        }
+    }
+}
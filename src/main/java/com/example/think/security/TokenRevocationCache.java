@@ -0,0 +1,129 @@
+package com.example.think.security;
+
+import com.example.think.entity.BlacklistedToken;
+import com.example.think.repository.BlacklistedTokenRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로그아웃된 토큰을 메모리에서 판별한다.
+ * 블룸 필터가 "없음"이라고 하면 바로 통과시키고, "있을 수 있음"일 때만 만료 시각별 버킷을 확인한다.
+ * 요청 처리 중에는 DB를 조회하지 않으며, 다른 인스턴스에서 추가된 토큰은 주기적으로 가져온다.
+ */
+@Component
+public class TokenRevocationCache {
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationCache.class);
+    // 인스턴스 간 시계 오차와 커밋 지연을 고려해 이전 갱신 시점보다 조금 앞에서부터 다시 읽는다
+    private static final long REFRESH_OVERLAP_SECONDS = 5;
+
+    private final BlacklistedTokenRepository blacklistedTokenRepository;
+    private final long expectedTokens;
+    private final double falsePositiveRate;
+    private final long bucketMillis;
+
+    // 만료 버킷 시작 시각(ms) -> 해당 구간에 만료되는 토큰 다이제스트
+    private final ConcurrentSkipListMap<Long, Set<String>> buckets = new ConcurrentSkipListMap<>();
+    private volatile BloomFilter bloomFilter;
+    private volatile LocalDateTime lastRefresh;
+
+    public TokenRevocationCache(BlacklistedTokenRepository blacklistedTokenRepository,
+                                @Value("${app.revocation.expectedTokens}") long expectedTokens,
+                                @Value("${app.revocation.falsePositiveRate}") double falsePositiveRate,
+                                @Value("${app.revocation.bucketMinutes}") long bucketMinutes) {
+        this.blacklistedTokenRepository = blacklistedTokenRepository;
+        this.expectedTokens = expectedTokens;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bucketMillis = TimeUnit.MINUTES.toMillis(bucketMinutes);
+        this.bloomFilter = new BloomFilter(expectedTokens, falsePositiveRate);
+    }
+
+    @PostConstruct
+    public void warmUp() {
+        LocalDateTime now = LocalDateTime.now();
+        List<BlacklistedToken> tokens = blacklistedTokenRepository.findByExpiryDateAfter(now);
+        for (BlacklistedToken token : tokens) {
+            if (token.getTokenHash().length() != TokenDigest.LENGTH) {
+                // 다이제스트 도입 이전에 원문으로 저장된 토큰
+                token.setTokenHash(TokenDigest.of(token.getTokenHash()));
+                blacklistedTokenRepository.save(token);
+            }
+            add(token.getTokenHash(), token.getExpiryDate());
+        }
+        lastRefresh = now;
+        logger.info("Token revocation cache warmed up with {} tokens", tokens.size());
+    }
+
+    public boolean isRevoked(String token) {
+        return isRevokedDigest(TokenDigest.of(token));
+    }
+
+    public boolean isRevokedDigest(String tokenHash) {
+        if (!bloomFilter.mightContain(tokenHash)) {
+            return false;
+        }
+        for (Set<String> bucket : buckets.tailMap(bucketOf(System.currentTimeMillis()), true).values()) {
+            if (bucket.contains(tokenHash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public synchronized void revoke(String tokenHash, LocalDateTime expiryDate) {
+        add(tokenHash, expiryDate);
+    }
+
+    @Scheduled(fixedDelayString = "${app.revocation.refreshIntervalMs}",
+               initialDelayString = "${app.revocation.refreshIntervalMs}")
+    public void refresh() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime since = lastRefresh.minusSeconds(REFRESH_OVERLAP_SECONDS);
+        List<BlacklistedToken> tokens = blacklistedTokenRepository.findByBlacklistedAtAfter(since);
+        synchronized (this) {
+            for (BlacklistedToken token : tokens) {
+                add(token.getTokenHash(), token.getExpiryDate());
+            }
+            evictExpired();
+        }
+        lastRefresh = now;
+    }
+
+    private void add(String tokenHash, LocalDateTime expiryDate) {
+        long expiresAt = expiryDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        buckets.computeIfAbsent(bucketOf(expiresAt), b -> ConcurrentHashMap.newKeySet()).add(tokenHash);
+        bloomFilter.put(tokenHash);
+    }
+
+    /**
+     * 만료 시각이 지난 버킷을 버리고, 블룸 필터는 남은 토큰으로 다시 만든다.
+     */
+    private void evictExpired() {
+        var expired = buckets.headMap(bucketOf(System.currentTimeMillis()));
+        if (expired.isEmpty()) {
+            return;
+        }
+        int evicted = expired.values().stream().mapToInt(Set::size).sum();
+        expired.clear();
+
+        BloomFilter rebuilt = new BloomFilter(expectedTokens, falsePositiveRate);
+        buckets.values().forEach(bucket -> bucket.forEach(rebuilt::put));
+        bloomFilter = rebuilt;
+        logger.debug("Evicted {} expired revoked tokens", evicted);
+    }
+
+    private long bucketOf(long epochMillis) {
+        return epochMillis - Math.floorMod(epochMillis, bucketMillis);
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.think.security;
+
+import com.example.think.entity.User;
+
+import java.util.Locale;
+
+/**
+ * 학번별 사용자, 이메일별 가입 여부를 짧은 시간 동안 보관한다.
+ * 존재하지 않는 학번/이메일도 (더 짧은 TTL로) 캐시하여, 없는 계정으로 반복되는 로그인 시도가
+ * 매번 DB 조회로 이어지지 않게 한다. 가입/비밀번호 변경 시 해당 항목을 무효화한다.
+ * 무효화는 이 인스턴스에만 적용되므로 비밀번호 해시는 캐시하지 않는다 (로그인 시 DB에서 다시 읽는다).
+ * 종류마다 최대 개수를 넘으면 가장 오래 쓰지 않은 항목을 버린다.
+ */
+public class UserCache {
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+    private final BoundedExpiringCache<String, Lookup> byStudentId;
+    private final BoundedExpiringCache<String, Boolean> emailExists;
+
+    public UserCache(long ttlMillis, long negativeTtlMillis, int maxEntries) {
+        this.ttlMillis = ttlMillis;
+        this.negativeTtlMillis = negativeTtlMillis;
+        this.byStudentId = new BoundedExpiringCache<>(maxEntries);
+        this.emailExists = new BoundedExpiringCache<>(maxEntries);
+    }
+
+    /**
+     * 캐시된 결과가 없거나 만료되었으면 null. 없는 학번으로 캐시된 경우 값이 null인 Lookup을 돌려준다.
+     * 돌려주는 User는 비밀번호를 뺀 복사본이므로 호출한 쪽에서 수정해도 캐시에 영향이 없다.
+     */
+    public Lookup getByStudentId(String studentId, long nowMillis) {
+        Lookup cached = studentId == null ? null : byStudentId.get(studentId, nowMillis);
+        if (cached == null) {
+            return null;
+        }
+        return new Lookup(cached.user == null ? null : copy(cached.user));
+    }
+
+    public void putStudentId(String studentId, User user, long nowMillis) {
+        if (studentId != null) {
+            byStudentId.put(studentId, new Lookup(user == null ? null : copy(user)), expiresAt(user != null, nowMillis));
+        }
+    }
+
+    /**
+     * 캐시된 결과가 없거나 만료되었으면 null.
+     */
+    public Boolean getEmailExists(String email, long nowMillis) {
+        return email == null ? null : emailExists.get(normalizeEmail(email), nowMillis);
+    }
+
+    public void putEmailExists(String email, boolean exists, long nowMillis) {
+        if (email != null) {
+            emailExists.put(normalizeEmail(email), exists, expiresAt(exists, nowMillis));
+        }
+    }
+
+    public void invalidate(String studentId, String email) {
+        if (studentId != null) {
+            byStudentId.invalidate(studentId);
+        }
+        if (email != null) {
+            emailExists.invalidate(normalizeEmail(email));
+        }
+    }
+
+    public int evictExpired(long nowMillis) {
+        return byStudentId.evictExpired(nowMillis) + emailExists.evictExpired(nowMillis);
+    }
+
+    public int size() {
+        return byStudentId.size() + emailExists.size();
+    }
+
+    private long expiresAt(boolean positive, long nowMillis) {
+        return nowMillis + (positive ? ttlMillis : negativeTtlMillis);
+    }
+
+    // MySQL 기본 collation은 대소문자를 구분하지 않으므로 키도 소문자로 맞춘다
+    private static String normalizeEmail(String email) {
+        return email == null ? null : email.toLowerCase(Locale.ROOT);
+    }
+
+    private static User copy(User source) {
+        User user = new User();
+        user.setId(source.getId());
+        user.setName(source.getName());
+        user.setStudentId(source.getStudentId());
+        user.setDepartment(source.getDepartment());
+        user.setEmail(source.getEmail());
+        user.setPhoneNumber(source.getPhoneNumber());
+        user.setRole(source.getRole());
+        return user;
+    }
+
+    public static final class Lookup {
+        private final User user;
+
+        private Lookup(User user) {
+            this.user = user;
+        }
+
+        /**
+         * 없는 학번으로 캐시된 경우 null.
+         */
+        public User getUser() {
+            return user;
+        }
+    }
+}
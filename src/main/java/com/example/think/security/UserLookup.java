@@ -0,0 +1,77 @@
+package com.example.think.security;
+
+import com.example.think.entity.User;
+import com.example.think.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+/**
+ * 로그인/가입 경로의 사용자 조회. 학번과 이메일 기준으로 결과를 캐시한다 (UserCache).
+ */
+@Component
+public class UserLookup {
+    private final UserRepository userRepository;
+    private final UserCache cache;
+
+    @Autowired
+    public UserLookup(UserRepository userRepository,
+                      @Value("${app.user.cacheTtlMs}") long ttlMillis,
+                      @Value("${app.user.negativeCacheTtlMs}") long negativeTtlMillis,
+                      @Value("${app.user.cacheSize}") int maxEntries) {
+        this.userRepository = userRepository;
+        this.cache = new UserCache(ttlMillis, negativeTtlMillis, maxEntries);
+    }
+
+    public Optional<User> findByStudentId(String studentId) {
+        long now = System.currentTimeMillis();
+        UserCache.Lookup cached = cache.getByStudentId(studentId, now);
+        if (cached != null) {
+            return Optional.ofNullable(cached.getUser());
+        }
+        Optional<User> user = userRepository.findByStudentId(studentId);
+        cache.putStudentId(studentId, user.orElse(null), now);
+        return user;
+    }
+
+    public boolean existsByStudentId(String studentId) {
+        return findByStudentId(studentId).isPresent();
+    }
+
+    public boolean existsByEmail(String email) {
+        long now = System.currentTimeMillis();
+        Boolean cached = cache.getEmailExists(email, now);
+        if (cached != null) {
+            return cached;
+        }
+        boolean exists = Boolean.TRUE.equals(userRepository.existsByEmail(email));
+        cache.putEmailExists(email, exists, now);
+        return exists;
+    }
+
+    public void evict(User user) {
+        cache.invalidate(user.getStudentId(), user.getEmail());
+    }
+
+    /**
+     * 트랜잭션 안이면 커밋 후에 무효화한다. 커밋 전에 지우면 다른 요청이 옛 값을 다시 캐시할 수 있다.
+     */
+    public void evictAfterCommit(User user) {
+        String studentId = user.getStudentId();
+        String email = user.getEmail();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidate(studentId, email);
+                }
+            });
+        } else {
+            cache.invalidate(studentId, email);
+        }
+    }
+}
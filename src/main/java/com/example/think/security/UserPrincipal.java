@@ -1,40 +1,59 @@
 package com.example.think.security;
 
 import com.example.think.entity.User;
+import com.example.think.entity.UserRole;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.List;
 
+/**
+ * 인증된 사용자의 최소 정보 (id, 학번, 역할).
+ * JWT 클레임만으로 만들 수 있으므로 요청마다 users 테이블을 조회하지 않는다.
+ * 전체 User 엔티티가 필요한 서비스는 id로 직접 조회한다.
+ */
 public class UserPrincipal implements UserDetails {
     private final Long id;
     private final String studentId;
     private final String password;
+    private final UserRole role;
     private final Collection<? extends GrantedAuthority> authorities;
 
-    public UserPrincipal(Long id, String studentId, String password, Collection<? extends GrantedAuthority> authorities) {
+    public UserPrincipal(Long id, String studentId, String password, UserRole role) {
         this.id = id;
         this.studentId = studentId;
         this.password = password;
-        this.authorities = authorities;
+        this.role = role;
+        this.authorities = Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name()));
     }
 
     public static UserPrincipal create(User user) {
-        List<GrantedAuthority> authorities = Collections.singletonList(
-            new SimpleGrantedAuthority("ROLE_" + user.getRole().name())
-        );
-
         return new UserPrincipal(
             user.getId(),
             user.getStudentId(),
             user.getPassword(),
-            authorities
+            user.getRole()
         );
     }
 
+    public static UserPrincipal fromClaims(Long id, String studentId, UserRole role) {
+        return new UserPrincipal(id, studentId, null, role);
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getStudentId() {
+        return studentId;
+    }
+
+    public UserRole getRole() {
+        return role;
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return authorities;
@@ -69,4 +88,4 @@ public class UserPrincipal implements UserDetails {
     public boolean isEnabled() {
         return true;
     }
-} 
\ No newline at end of file
+}
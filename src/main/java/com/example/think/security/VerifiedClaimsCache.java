@@ -0,0 +1,38 @@
+package com.example.think.security;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * 서명 검증을 마친 JWT 클레임을 토큰 다이제스트 기준으로 보관한다.
+ * 항목은 토큰의 exp 시각까지만 유효하며, 최대 개수를 넘으면 가장 오래 쓰지 않은 토큰을 버린다.
+ */
+public class VerifiedClaimsCache {
+    private final BoundedExpiringCache<String, Claims> entries;
+
+    public VerifiedClaimsCache(int maxEntries) {
+        this.entries = new BoundedExpiringCache<>(maxEntries);
+    }
+
+    public Claims get(String tokenHash, long nowMillis) {
+        return entries.get(tokenHash, nowMillis);
+    }
+
+    public void put(String tokenHash, Claims claims, long nowMillis) {
+        if (claims.getExpiration() == null || claims.getExpiration().getTime() <= nowMillis) {
+            return;
+        }
+        entries.put(tokenHash, claims, claims.getExpiration().getTime());
+    }
+
+    public void invalidate(String tokenHash) {
+        entries.invalidate(tokenHash);
+    }
+
+    public int evictExpired(long nowMillis) {
+        return entries.evictExpired(nowMillis);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+}
@@ -6,13 +6,19 @@ import com.example.think.entity.User;
 import com.example.think.repository.UserRepository;
 import com.example.think.security.JwtAuthenticationResponse;
 import com.example.think.security.JwtTokenProvider;
+import com.example.think.security.PasswordHasher;
+import com.example.think.security.PasswordHashingBusyException;
+import com.example.think.security.TokenDigest;
+import com.example.think.security.TokenRevocationCache;
+import com.example.think.security.UserLookup;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.beans.factory.annotation.Autowired;
 import com.example.think.entity.BlacklistedToken;
@@ -23,8 +29,10 @@ import java.time.LocalDateTime;
 @RequiredArgsConstructor
 public class AuthService {
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtTokenProvider tokenProvider;
+    private final TokenRevocationCache tokenRevocationCache;
+    private final UserLookup userLookup;
     private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
 
     @Autowired
@@ -34,18 +42,26 @@ public class AuthService {
         try {
             logger.debug("Attempting to authenticate user with studentId: {}", loginDto.getStudentId());
             
-            User user = userRepository.findByStudentId(loginDto.getStudentId())
+            User user = userLookup.findByStudentId(loginDto.getStudentId())
                 .orElseThrow(() -> {
                     logger.debug("User not found with studentId: {}", loginDto.getStudentId());
                     return new UsernameNotFoundException("User not found");
                 });
 
-            if (!passwordEncoder.matches(loginDto.getPassword(), user.getPassword())) {
+            // 캐시된 사용자에는 비밀번호 해시가 없다. 다른 인스턴스에서 바꾼 비밀번호도 바로 반영되도록 매번 읽는다
+            String passwordHash = userRepository.findPasswordById(user.getId())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+            if (!passwordHasher.matches(loginDto.getPassword(), passwordHash)) {
                 logger.debug("Invalid password for studentId: {}", loginDto.getStudentId());
                 return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body("Invalid password");
             }
 
+            // 비용 인자가 바뀐 해시는 평문을 알고 있는 지금 다시 해시한다
+            if (passwordHasher.needsRehash(passwordHash)) {
+                rehash(user, passwordHash, loginDto.getPassword());
+            }
+
             String token = tokenProvider.generateToken(user);
             logger.debug("Generated token for user: {}", loginDto.getStudentId());
             
@@ -57,6 +73,8 @@ public class AuthService {
         } catch (UsernameNotFoundException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                 .body(e.getMessage());
+        } catch (PasswordHashingBusyException e) {
+            return serviceUnavailable(e);
         } catch (Exception e) {
             logger.error("Authentication error", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -65,11 +83,11 @@ public class AuthService {
     }
 
     public ResponseEntity<?> signup(SignupDto signupDto) {
-        if (userRepository.existsByEmail(signupDto.getEmail())) {
+        if (userLookup.existsByEmail(signupDto.getEmail())) {
             return ResponseEntity.badRequest().body("Email already exists");
         }
 
-        if (userRepository.existsByStudentId(signupDto.getStudentId())) {
+        if (userLookup.existsByStudentId(signupDto.getStudentId())) {
             return ResponseEntity.badRequest().body("Student ID already exists");
         }
 
@@ -79,12 +97,16 @@ public class AuthService {
             user.setStudentId(signupDto.getStudentId());
             user.setDepartment(signupDto.getDepartment());
             user.setEmail(signupDto.getEmail());
-            user.setPassword(passwordEncoder.encode(signupDto.getPassword()));
+            user.setPassword(passwordHasher.encode(signupDto.getPassword()));
             user.setPhoneNumber(signupDto.getPhoneNumber());
             user.setRole(signupDto.getRole());
 
             userRepository.save(user);
+            // "없음"으로 캐시된 학번/이메일을 지운다
+            userLookup.evict(user);
             return ResponseEntity.ok("User registered successfully");
+        } catch (PasswordHashingBusyException e) {
+            return serviceUnavailable(e);
         } catch (Exception e) {
             logger.error("Registration error", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -92,6 +114,26 @@ public class AuthService {
         }
     }
 
+    private void rehash(User user, String oldHash, String rawPassword) {
+        try {
+            // 캐시된 사본을 save하면 다른 열까지 덮어쓰므로 비밀번호 열만 갱신한다
+            String newHash = passwordHasher.encode(rawPassword);
+            if (userRepository.updatePassword(user.getId(), oldHash, newHash) > 0) {
+                logger.info("Rehashed password of {} with the current BCrypt cost", user.getStudentId());
+            }
+            userLookup.evict(user);
+        } catch (PasswordHashingBusyException e) {
+            // 로그인은 이미 성공했으므로 다음 로그인 때 다시 시도한다
+            logger.debug("Skipped password rehash for {}: hasher busy", user.getStudentId());
+        }
+    }
+
+    private static ResponseEntity<?> serviceUnavailable(PasswordHashingBusyException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, "1")
+            .body(e.getMessage());
+    }
+
     public ResponseEntity<?> getUserInfo(String token) {
         try {
             if (token != null && token.startsWith("Bearer ")) {
@@ -114,25 +156,22 @@ public class AuthService {
     }
 
     public void logout(String token) {
-        // 토큰이 유효한지 확인
-        if (!tokenProvider.validateToken(token)) {
+        // 토큰이 유효한지 확인하고 실제 만료 시각(exp)을 읽는다
+        LocalDateTime expiryDate;
+        try {
+            expiryDate = tokenProvider.getExpiryDate(token);
+        } catch (JwtException | IllegalArgumentException e) {
             throw new RuntimeException("유효하지 않은 토큰입니다.");
         }
 
-        // 토큰을 블랙리스트에 추가
+        // 토큰을 블랙리스트에 추가 (만료된 항목은 BlacklistedTokenSweeper가 정리)
         BlacklistedToken blacklistedToken = new BlacklistedToken();
-        blacklistedToken.setToken(token);
+        blacklistedToken.setTokenHash(TokenDigest.of(token));
         blacklistedToken.setBlacklistedAt(LocalDateTime.now());
-        // 토큰 만료 시간 설정 (JWT 만료 시간과 동일하게)
-        blacklistedToken.setExpiryDate(LocalDateTime.now().plusMinutes(30)); // JWT 만료 시간에 맞춰 조정
+        blacklistedToken.setExpiryDate(expiryDate);
 
         blacklistedTokenRepository.save(blacklistedToken);
-        
-        // 만료된 블랙리스트 토큰 정리
-        cleanupExpiredTokens();
-    }
-
-    private void cleanupExpiredTokens() {
-        blacklistedTokenRepository.deleteByExpiryDateBefore(LocalDateTime.now());
+        tokenRevocationCache.revoke(blacklistedToken.getTokenHash(), blacklistedToken.getExpiryDate());
+        tokenProvider.evictClaims(blacklistedToken.getTokenHash());
     }
 } 
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.example.think.service;
+
+import com.example.think.repository.BlacklistedTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * 만료된 블랙리스트 토큰을 주기적으로 정리한다.
+ * 한 번에 batchSize 행씩 지우고 각 배치는 별도 트랜잭션으로 커밋해 락을 오래 잡지 않는다.
+ */
+@Component
+public class BlacklistedTokenSweeper {
+    private static final Logger logger = LoggerFactory.getLogger(BlacklistedTokenSweeper.class);
+
+    private final BlacklistedTokenRepository blacklistedTokenRepository;
+    private final int batchSize;
+    private final Counter purgedCounter;
+    private final Timer sweepTimer;
+
+    public BlacklistedTokenSweeper(BlacklistedTokenRepository blacklistedTokenRepository,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.revocation.sweepBatchSize}") int batchSize) {
+        this.blacklistedTokenRepository = blacklistedTokenRepository;
+        this.batchSize = batchSize;
+        this.purgedCounter = Counter.builder("think.blacklist.sweep.purged")
+            .description("Expired blacklisted tokens deleted by the sweeper")
+            .register(meterRegistry);
+        this.sweepTimer = Timer.builder("think.blacklist.sweep.duration")
+            .description("Time spent in one blacklist sweep")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.revocation.sweepIntervalMs}",
+               initialDelayString = "${app.revocation.sweepIntervalMs}")
+    public void sweep() {
+        sweepTimer.record(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            int total = 0;
+            int deleted;
+            do {
+                deleted = blacklistedTokenRepository.deleteExpiredBatch(now, batchSize);
+                total += deleted;
+                purgedCounter.increment(deleted);
+            } while (deleted == batchSize);
+
+            if (total > 0) {
+                logger.info("Purged {} expired blacklisted tokens", total);
+            }
+        });
+    }
+}
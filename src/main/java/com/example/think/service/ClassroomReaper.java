@@ -0,0 +1,156 @@
+package com.example.think.service;
+
+import com.example.think.dto.SubmissionImageRef;
+import com.example.think.entity.ClassroomDeletion;
+import com.example.think.entity.DeletionStatus;
+import com.example.think.repository.AssignmentRepository;
+import com.example.think.repository.AssignmentSubmissionRepository;
+import com.example.think.repository.ClassroomDeletionRepository;
+import com.example.think.repository.ClassroomMemberRepository;
+import com.example.think.repository.ClassroomRepository;
+import com.example.think.repository.DraftDeltaRepository;
+import com.example.think.repository.SubmissionDraftRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * 삭제 요청된 강의실의 데이터를 백그라운드에서 정리한다.
+ * 제출물은 batchSize 행씩 별도 트랜잭션으로 지우고 배치 사이에 잠시 쉬어 락과 I/O 부하를 나눈다.
+ * 한 번 실행할 때 최대 batchesPerRun 배치만 처리하고 나머지는 다음 실행으로 넘긴다.
+ */
+@Component
+public class ClassroomReaper {
+    private static final Logger logger = LoggerFactory.getLogger(ClassroomReaper.class);
+
+    private final ClassroomDeletionRepository deletionRepository;
+    private final ClassroomRepository classroomRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final AssignmentSubmissionRepository submissionRepository;
+    private final ClassroomMemberRepository classroomMemberRepository;
+    private final SubmissionDraftRepository draftRepository;
+    private final DraftDeltaRepository draftDeltaRepository;
+    private final SubmissionImageCollector imageCollector;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int batchesPerRun;
+    private final long pauseMillis;
+    private final Counter purgedCounter;
+
+    public ClassroomReaper(ClassroomDeletionRepository deletionRepository,
+                           ClassroomRepository classroomRepository,
+                           AssignmentRepository assignmentRepository,
+                           AssignmentSubmissionRepository submissionRepository,
+                           ClassroomMemberRepository classroomMemberRepository,
+                           SubmissionDraftRepository draftRepository,
+                           DraftDeltaRepository draftDeltaRepository,
+                           SubmissionImageCollector imageCollector,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.classroom.reaper.batchSize}") int batchSize,
+                           @Value("${app.classroom.reaper.batchesPerRun}") int batchesPerRun,
+                           @Value("${app.classroom.reaper.pauseMs}") long pauseMillis) {
+        this.deletionRepository = deletionRepository;
+        this.classroomRepository = classroomRepository;
+        this.assignmentRepository = assignmentRepository;
+        this.submissionRepository = submissionRepository;
+        this.classroomMemberRepository = classroomMemberRepository;
+        this.draftRepository = draftRepository;
+        this.draftDeltaRepository = draftDeltaRepository;
+        this.imageCollector = imageCollector;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.batchesPerRun = batchesPerRun;
+        this.pauseMillis = pauseMillis;
+        this.purgedCounter = Counter.builder("think.classroom.reaper.submissions")
+            .description("Submissions of deleted classrooms purged by the reaper")
+            .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.classroom.reaper.intervalMs}",
+               initialDelayString = "${app.classroom.reaper.intervalMs}")
+    public void reap() {
+        int budget = batchesPerRun;
+        for (ClassroomDeletion deletion : deletionRepository.findByStatusNotOrderByRequestedAt(DeletionStatus.COMPLETED)) {
+            if (budget <= 0) {
+                break;
+            }
+            try {
+                budget = purge(deletion, budget);
+            } catch (InterruptedException e) {
+                // 종료 중: 남은 작업은 다음 실행에서 이어서 한다
+                Thread.currentThread().interrupt();
+                logger.info("Classroom reaper interrupted while purging classroom {}", deletion.getClassroomId());
+                return;
+            } catch (Exception e) {
+                logger.error("Failed to purge deleted classroom {}", deletion.getClassroomId(), e);
+            }
+        }
+    }
+
+    /**
+     * 남은 배치 수를 돌려준다.
+     */
+    private int purge(ClassroomDeletion deletion, int budget) throws InterruptedException {
+        Long classroomId = deletion.getClassroomId();
+        while (budget > 0) {
+            List<SubmissionImageRef> refs = submissionRepository.findImageRefsByClassroomId(classroomId, batchSize);
+            if (refs.isEmpty()) {
+                break;
+            }
+            List<Long> ids = refs.stream().map(SubmissionImageRef::getId).collect(Collectors.toList());
+            List<String> imageKeys = refs.stream()
+                .map(SubmissionImageRef::getImageKey)
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+
+            transactionTemplate.executeWithoutResult(status -> {
+                int deleted = submissionRepository.deleteByIdIn(ids);
+                deletion.setDeletedSubmissions(deletion.getDeletedSubmissions() + deleted);
+                deletion.setStatus(DeletionStatus.IN_PROGRESS);
+                deletionRepository.save(deletion);
+                purgedCounter.increment(deleted);
+            });
+            if (!imageKeys.isEmpty()) {
+                imageCollector.collect(imageKeys);
+            }
+            budget--;
+            if (refs.size() < batchSize) {
+                break;
+            }
+            Thread.sleep(pauseMillis);
+        }
+        if (budget <= 0) {
+            return 0;
+        }
+
+        // 제출물이 모두 지워졌으면 나머지(임시 저장본, 과제, 명단, 강의실)는 행 수가 적으므로 한 트랜잭션에서 정리
+        transactionTemplate.executeWithoutResult(status -> {
+            draftDeltaRepository.deleteByClassroomId(classroomId);
+            draftRepository.deleteByClassroomId(classroomId);
+            int assignments = assignmentRepository.deleteByClassroomId(classroomId);
+            classroomMemberRepository.deleteByClassroomId(classroomId);
+            classroomRepository.deleteStudentsByClassroomId(classroomId);
+            classroomRepository.purgeDeletedById(classroomId);
+            deletion.setDeletedAssignments(deletion.getDeletedAssignments() + assignments);
+            deletion.setStatus(DeletionStatus.COMPLETED);
+            deletion.setCompletedAt(LocalDateTime.now());
+            deletionRepository.save(deletion);
+        });
+        logger.info("Purged deleted classroom {} ({} assignments, {} submissions)",
+            classroomId, deletion.getDeletedAssignments(), deletion.getDeletedSubmissions());
+        return budget - 1;
+    }
+}
@@ -1,23 +1,53 @@
 package com.example.think.service;
 
 import com.example.think.entity.Classroom;
+import com.example.think.entity.ClassroomDeletion;
 import com.example.think.entity.User;
 import com.example.think.entity.Assignment;
 import com.example.think.entity.AssignmentSubmission;
+import com.example.think.entity.LegacySubmissionImage;
 import com.example.think.entity.UserRole;
 import com.example.think.dto.AssignmentDto;
+import com.example.think.dto.ClassroomStudentCount;
+import com.example.think.dto.SubmissionSummary;
+import com.example.think.drawing.StrokeCodec;
+import com.example.think.drawing.StrokeDrawing;
+import com.example.think.pagination.Cursor;
+import com.example.think.pagination.CursorPage;
+import com.example.think.pagination.CursorPagination;
+import com.example.think.repository.ClassroomDeletionRepository;
 import com.example.think.repository.ClassroomRepository;
 import com.example.think.repository.AssignmentRepository;
 import com.example.think.repository.AssignmentSubmissionRepository;
+import com.example.think.repository.LegacySubmissionImageRepository;
 import com.example.think.repository.UserRepository;
+import com.example.think.security.ClassroomAccessEvaluator;
+import com.example.think.security.UserPrincipal;
+import com.example.think.storage.BlankImageDetector;
+import com.example.think.storage.BoundedImageReader;
+import com.example.think.storage.DataUrl;
+import com.example.think.storage.ImageTooLargeException;
+import com.example.think.storage.StoredImage;
+import com.example.think.storage.SubmissionImageStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Slice;
+import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Supplier;
 import java.time.LocalDateTime;
 import java.util.stream.Collectors;
 
@@ -37,13 +67,50 @@ public class ClassroomService {
     
     @Autowired
     private UserRepository userRepository;
+
+    @Autowired
+    private SubmissionImageStore imageStore;
+
+    @Autowired
+    private LegacySubmissionImageRepository legacyImageRepository;
+
+    @Autowired
+    private CursorPagination pagination;
+
+    @Autowired
+    private ClassroomAccessEvaluator classroomAccess;
+
+    @Autowired
+    private ClassroomDeletionRepository classroomDeletionRepository;
+
+    @Autowired
+    private SubmissionImageCollector imageCollector;
+
+    @Autowired
+    private SubmissionRasterizer rasterizer;
+
+    @Autowired
+    private SubmissionImagePipeline imagePipeline;
+
+    @Autowired
+    private BlankImageDetector blankDetector;
+
+    @Value("${app.classroom.materializedStudentCount}")
+    private boolean materializedStudentCount;
+
+    @Value("${app.storage.maxStrokeBytes}")
+    private int maxStrokeBytes;
+
+    private volatile StoredImage blankPlaceholder;
     
-    public Classroom createClassroom(Classroom classroom) {
+    public Classroom createClassroom(Classroom classroom, UserPrincipal professor) {
         logger.debug("Creating new classroom: {}", classroom.getName());
         try {
+            classroom.setProfessor(userRepository.getReferenceById(professor.getId()));
             String classCode = generateClassCode();
             logger.debug("Generated class code: {}", classCode);
             classroom.setClassCode(classCode);
+            classroom.setStudentCount(0);
             
             Classroom savedClassroom = classroomRepository.save(classroom);
             logger.info("Successfully created classroom with ID: {}", savedClassroom.getId());
@@ -54,32 +121,59 @@ public class ClassroomService {
         }
     }
     
-    public List<Classroom> getMyClassrooms(User professor) {
-        logger.debug("Getting classrooms for professor: {}", professor.getStudentId());
-        try {
-            List<Classroom> classrooms = classroomRepository.findByProfessor(professor);
-            logger.info("Found {} classrooms for professor", classrooms.size());
-            return classrooms;
-        } catch (Exception e) {
-            logger.error("Error getting professor's classrooms", e);
-            throw new RuntimeException("교수의 강의실 목록을 가져는 중 오류가 발생했습니다", e);
+    /**
+     * 사용자의 강의실별 수강생 수. 수강 명단을 읽지 않고 한 번의 집계 쿼리로 구한다.
+     */
+    public List<ClassroomStudentCount> getStudentCounts(UserPrincipal user) {
+        logger.debug("Getting student counts for user: {}", user.getStudentId());
+        if (user.getRole() == UserRole.PROFESSOR) {
+            return materializedStudentCount
+                ? classroomRepository.findStoredStudentCountsByProfessorId(user.getId())
+                : classroomRepository.countStudentsByProfessorId(user.getId());
         }
+        return materializedStudentCount
+            ? classroomRepository.findStoredStudentCountsByStudentId(user.getId())
+            : classroomRepository.countStudentsByStudentId(user.getId());
     }
-    
-    public List<Classroom> getEnrolledClassrooms(User student) {
-        logger.debug("Getting enrolled classrooms for student: {}", student.getStudentId());
-        try {
-            List<Classroom> classrooms = classroomRepository.findByStudentsContaining(student);
-            logger.info("Found {} enrolled classrooms for student", classrooms.size());
-            return classrooms;
-        } catch (Exception e) {
-            logger.error("Error getting student's enrolled classrooms", e);
-            throw new RuntimeException("학생의 수강 강의실 목록을 가져오는 중 오류가 발생했습니다", e);
+
+    public long getStudentCount(Classroom classroom) {
+        if (materializedStudentCount && classroom.getStudentCount() != null) {
+            return classroom.getStudentCount();
+        }
+        return classroomRepository.countStudentsByClassroomId(classroom.getId());
+    }
+
+    /**
+     * 저장된 수강생 수를 사용하는 경우, 기동 시 실제 명단 기준으로 한 번 맞춘다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recalculateStudentCounts() {
+        if (materializedStudentCount) {
+            int updated = classroomRepository.recalculateStudentCounts();
+            logger.info("Recalculated stored student counts for {} classrooms", updated);
         }
     }
     
+    public CursorPage<Classroom> getMyClassroomPage(UserPrincipal professor, String cursor, Integer size) {
+        Slice<Classroom> slice = classroomRepository.findPageByProfessorId(
+            professor.getId(), Cursor.decode(cursor).getId(), pagination.pageable(size));
+        return CursorPage.of(slice, classroom -> Cursor.of(classroom.getId()));
+    }
+
+    public CursorPage<Classroom> getEnrolledClassroomPage(UserPrincipal student, String cursor, Integer size) {
+        Slice<Classroom> slice = classroomRepository.findPageByStudentId(
+            student.getId(), Cursor.decode(cursor).getId(), pagination.pageable(size));
+        return CursorPage.of(slice, classroom -> Cursor.of(classroom.getId()));
+    }
+
+    public CursorPage<User> getClassroomStudentPage(Long classroomId, String cursor, Integer size) {
+        Slice<User> slice = classroomRepository.findStudentPage(
+            classroomId, Cursor.decode(cursor).getId(), pagination.pageable(size));
+        return CursorPage.of(slice, student -> Cursor.of(student.getId()));
+    }
+    
     public Classroom getClassroomById(Long id) {
-        return classroomRepository.findById(id)
+        return classroomRepository.findWithProfessorById(id)
             .orElseThrow(() -> new RuntimeException("강의실을 찾을 수 없습니다."));
     }
     
@@ -88,13 +182,25 @@ public class ClassroomService {
             .orElseThrow(() -> new RuntimeException("유효하지 않은 초대 코드입니다."));
     }
     
-    public void enrollStudent(String classCode, User student) {
-        Classroom classroom = findByClassCode(classCode);
-        if (classroom.getStudents().contains(student)) {
-            throw new RuntimeException("이 등록된 학생입니다.");
+    /**
+     * 초대 코드로 수강 등록한다. 수강 행 하나만 INSERT IGNORE로 넣으므로 같은 학생이 동시에 여러 번 요청해도
+     * 한 행만 남고, 강의실 엔티티와 명단은 읽지 않는다.
+     *
+     * @return 새로 등록되었으면 true, 이미 등록된 학생이면 false
+     */
+    public boolean enrollStudent(String classCode, UserPrincipal student) {
+        Long classroomId = classroomRepository.findIdByClassCode(classCode)
+            .orElseThrow(() -> new RuntimeException("유효하지 않은 초대 코드입니다."));
+        if (classroomRepository.insertStudentIgnoringDuplicate(classroomId, student.getId()) == 0) {
+            logger.debug("Student {} already enrolled in classroom {}", student.getStudentId(), classroomId);
+            return false;
+        }
+        // 저장된 수강생 수를 쓰지 않으면 강의실 행을 갱신하지 않아 동시 등록이 한 행에 몰리지 않는다
+        if (materializedStudentCount) {
+            classroomRepository.adjustStudentCount(classroomId, 1);
         }
-        classroom.getStudents().add(student);
-        classroomRepository.save(classroom);
+        evictAccessAfterCommit(classroomId, student.getId());
+        return true;
     }
     
     private String generateClassCode() {
@@ -102,7 +208,7 @@ public class ClassroomService {
         return UUID.randomUUID().toString().substring(0, 6).toUpperCase();
     }
     
-    public Assignment createAssignment(Long classroomId, AssignmentDto assignmentDto, User professor) {
+    public Assignment createAssignment(Long classroomId, AssignmentDto assignmentDto, UserPrincipal professor) {
         logger.debug("Creating assignment for classroom: {} by professor: {}", classroomId, professor.getStudentId());
         
         try {
@@ -137,37 +243,189 @@ public class ClassroomService {
         }
     }
 
-    public List<Assignment> getAssignments(Long classroomId) {
-        return assignmentRepository.findByClassroomId(classroomId);
+    public CursorPage<Assignment> getAssignments(Long classroomId, String cursor, Integer size) {
+        Cursor after = Cursor.decode(cursor);
+        Slice<Assignment> slice = assignmentRepository.findPageByClassroomId(
+            classroomId, after.getTimestamp(), after.getId(), pagination.pageable(size));
+        return CursorPage.of(slice, assignment -> new Cursor(assignment.getCreatedAt(), assignment.getId()));
+    }
+
+    public AssignmentSubmission submitAssignment(Long assignmentId, UserPrincipal student, String imageData) {
+        return submitAssignment(assignmentId, student, () -> storeImage(imageData));
+    }
+
+    /**
+     * 획 형식(StrokeDrawing.MEDIA_TYPE)으로 제출한다. PNG는 이미지를 요청할 때 서버에서 그린다.
+     */
+    public AssignmentSubmission submitStrokes(Long assignmentId, UserPrincipal student, byte[] strokes) {
+        return submitAssignment(assignmentId, student, () -> storeStrokes(strokes));
+    }
+
+    /**
+     * 이미 저장소에 올린 이미지로 제출한다 (SubmissionUploadService).
+     */
+    public AssignmentSubmission submitStoredImage(Long assignmentId, UserPrincipal student, StoredImage image) {
+        return submitAssignment(assignmentId, student, () -> image);
     }
 
-    public AssignmentSubmission submitAssignment(Long assignmentId, User student, String imageData) {
-        Assignment assignment = assignmentRepository.findById(assignmentId)
+    /**
+     * 업로드 본문을 읽기 전에 제출할 수 있는 과제인지 확인한다.
+     */
+    @Transactional(readOnly = true)
+    public void checkSubmittable(Long assignmentId) {
+        findSubmittableAssignment(assignmentId);
+    }
+
+    private Assignment findSubmittableAssignment(Long assignmentId) {
+        Assignment assignment = assignmentRepository.findActiveById(assignmentId)
             .orElseThrow(() -> new RuntimeException("과제를 찾을 수 없습니다."));
 
         if (assignment.getDueDate().isBefore(LocalDateTime.now())) {
             throw new RuntimeException("제출 기한이 지났습니다.");
         }
+        return assignment;
+    }
+
+    // 강의실이 삭제 요청되면 정리가 끝나기 전이라도 제출물을 더 받지 않는다
+    private void checkClassroomActive(Assignment assignment) {
+        if (!assignmentRepository.existsActiveById(assignment.getId())) {
+            throw new RuntimeException("과제를 찾을 수 없습니다.");
+        }
+    }
+
+    private AssignmentSubmission submitAssignment(Long assignmentId, UserPrincipal student, Supplier<StoredImage> image) {
+        Assignment assignment = findSubmittableAssignment(assignmentId);
 
         AssignmentSubmission submission = new AssignmentSubmission();
         submission.setAssignment(assignment);
-        submission.setStudent(student);
-        submission.setImageData(imageData);
+        submission.setStudent(userRepository.getReferenceById(student.getId()));
+        applyImage(submission, image.get());
 
-        return submissionRepository.save(submission);
+        AssignmentSubmission saved = submissionRepository.save(submission);
+        processImageAfterCommit(saved.getImageKey(), saved.getImageMimeType());
+        return saved;
     }
 
-    public List<AssignmentSubmission> getAssignmentSubmissions(Long assignmentId) {
-        Assignment assignment = assignmentRepository.findById(assignmentId)
-            .orElseThrow(() -> new RuntimeException("과제를 찾을 수 없습니다."));
-        return submissionRepository.findByAssignment_Id(assignmentId);
+    private StoredImage storeImage(String imageData) {
+        try {
+            DataUrl dataUrl = DataUrl.parse(imageData);
+            if ((long) dataUrl.getPayloadLength() * 3 / 4 > blankDetector.getMaxBytes()) {
+                BoundedImageReader.checkDimensions(dataUrl.openDecodedStream());
+                return imageStore.store(dataUrl.openDecodedStream(), dataUrl.getMimeType());
+            }
+            // 작은 이미지만 메모리에서 빈 캔버스인지 검사한다
+            byte[] bytes = dataUrl.openDecodedStream().readAllBytes();
+            if (blankDetector.isBlankPng(bytes)) {
+                return StoredImage.BLANK;
+            }
+            return imageStore.store(new ByteArrayInputStream(bytes), dataUrl.getMimeType());
+        } catch (ImageTooLargeException e) {
+            throw new RuntimeException(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("이미지 데이터 형식이 올바르지 않습니다: " + e.getMessage());
+        } catch (IOException e) {
+            logger.error("Failed to store submission image", e);
+            throw new RuntimeException("이미지 저장 중 오류가 발생했습니다.", e);
+        }
     }
 
-    public List<AssignmentSubmission> getStudentSubmissions(Long studentId) {
-        return submissionRepository.findByStudent_Id(studentId);
+    private StoredImage storeStrokes(byte[] strokes) {
+        if (strokes == null || strokes.length == 0) {
+            throw new RuntimeException("획 데이터가 비어 있습니다.");
+        }
+        if (strokes.length > maxStrokeBytes) {
+            throw new RuntimeException("획 데이터가 너무 큽니다. (최대 " + maxStrokeBytes + "바이트)");
+        }
+        try {
+            // 저장 전에 형식을 검사해 렌더링할 수 없는 데이터가 저장되지 않게 한다
+            if (StrokeCodec.decode(strokes).getStrokes().isEmpty()) {
+                return StoredImage.BLANK;
+            }
+            return imageStore.store(new ByteArrayInputStream(strokes), StrokeDrawing.MEDIA_TYPE);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("획 데이터 형식이 올바르지 않습니다: " + e.getMessage());
+        } catch (IOException e) {
+            logger.error("Failed to store submission strokes", e);
+            throw new RuntimeException("이미지 저장 중 오류가 발생했습니다.", e);
+        }
     }
 
-    public void deleteClassroom(Long classroomId, User professor) {
+    private void applyImage(AssignmentSubmission submission, StoredImage image) {
+        if (!image.isBlank()) {
+            // 커밋할 때까지 SubmissionImageCollector가 이 이미지를 지우지 못하게 한다
+            imageCollector.lockForReference(image.getKey());
+        }
+        submission.setBlank(image.isBlank());
+        submission.setImageKey(image.getKey());
+        submission.setImageSize(image.getSize());
+        submission.setImageMimeType(image.getMimeType());
+    }
+
+    /**
+     * 트랜잭션 커밋 후, 더 이상 어떤 제출물도 참조하지 않는 이미지를 저장소에서 지운다.
+     */
+    private void releaseImageAfterCommit(String imageKey) {
+        if (imageKey != null) {
+            collectImagesAfterCommit(List.of(imageKey));
+        }
+    }
+
+    private void collectImagesAfterCommit(List<String> imageKeys) {
+        if (imageKeys.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    imageCollector.collect(imageKeys);
+                }
+            });
+        } else {
+            imageCollector.collect(imageKeys);
+        }
+    }
+
+    /**
+     * 트랜잭션 커밋 후 썸네일과 재압축 이미지를 만들도록 파이프라인에 넘긴다.
+     */
+    private void processImageAfterCommit(String imageKey, String mimeType) {
+        if (imageKey == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    imagePipeline.enqueue(imageKey, mimeType);
+                }
+            });
+        } else {
+            imagePipeline.enqueue(imageKey, mimeType);
+        }
+    }
+
+    public CursorPage<SubmissionSummary> getAssignmentSubmissions(Long assignmentId, String cursor, Integer size) {
+        if (!assignmentRepository.existsById(assignmentId)) {
+            throw new RuntimeException("과제를 찾을 수 없습니다.");
+        }
+        Cursor after = Cursor.decode(cursor);
+        Slice<SubmissionSummary> slice = submissionRepository.findSummaryPageByAssignmentId(
+            assignmentId, after.getTimestamp(), after.getId(), pagination.pageable(size));
+        return CursorPage.of(slice, summary -> new Cursor(summary.getSubmittedAt(), summary.getId()));
+    }
+
+    public CursorPage<SubmissionSummary> getStudentSubmissions(Long studentId, String cursor, Integer size) {
+        Cursor after = Cursor.decode(cursor);
+        Slice<SubmissionSummary> slice = submissionRepository.findSummaryPageByStudentId(
+            studentId, after.getTimestamp(), after.getId(), pagination.pageable(size));
+        return CursorPage.of(slice, summary -> new Cursor(summary.getSubmittedAt(), summary.getId()));
+    }
+
+    /**
+     * 강의실을 삭제 상태로 표시하고 바로 돌아온다. 실제 데이터 정리는 ClassroomReaper가 나누어 처리한다.
+     */
+    public ClassroomDeletion deleteClassroom(Long classroomId, UserPrincipal professor) {
         logger.debug("Attempting to delete classroom {} by professor {}", classroomId, professor.getStudentId());
         
         Classroom classroom = classroomRepository.findById(classroomId)
@@ -186,29 +444,33 @@ public class ClassroomService {
             throw new RuntimeException("해당 강의실의 담당 교수만 삭제할 수 있습니다.");
         }
         
-        try {
-            // 강의실에 속한 과제들 먼저 삭제
-            List<Assignment> assignments = assignmentRepository.findByClassroomId(classroomId);
-            for (Assignment assignment : assignments) {
-                // 과제에 속한 제출물들 삭제
-                List<AssignmentSubmission> submissions = 
-                    submissionRepository.findByAssignment_Id(assignment.getId());
-                submissionRepository.deleteAll(submissions);
-            }
-            assignmentRepository.deleteAll(assignments);
-            
-            // 강의실 삭제
-            classroomRepository.delete(classroom);
-            logger.info("Successfully deleted classroom {} by professor {}", 
-                classroomId, professor.getStudentId());
-        } catch (Exception e) {
-            logger.error("Error deleting classroom {}: {}", classroomId, e.getMessage());
-            throw new RuntimeException("강의실 삭제 중 오류가 발생했습니다: " + e.getMessage());
+        LocalDateTime now = LocalDateTime.now();
+        classroom.setDeletedAt(now);
+
+        ClassroomDeletion deletion = new ClassroomDeletion();
+        deletion.setClassroomId(classroomId);
+        deletion.setClassroomName(classroom.getName());
+        deletion.setProfessorId(professor.getId());
+        deletion.setRequestedAt(now);
+        deletion = classroomDeletionRepository.save(deletion);
+
+        evictAccessAfterCommit(classroomId, null);
+        logger.info("Classroom {} marked as deleted by professor {}", classroomId, professor.getStudentId());
+        return deletion;
+    }
+
+    @Transactional(readOnly = true)
+    public ClassroomDeletion getClassroomDeletion(Long classroomId, UserPrincipal professor) {
+        ClassroomDeletion deletion = classroomDeletionRepository.findById(classroomId)
+            .orElseThrow(() -> new RuntimeException("강의실 삭제 요청을 찾을 수 없습니다."));
+        if (!deletion.getProfessorId().equals(professor.getId())) {
+            throw new AccessDeniedException("이 강의실 삭제 요청을 조회할 권한이 없습니다.");
         }
+        return deletion;
     }
 
-    public void deleteSubmission(Long submissionId, User student) {
-        AssignmentSubmission submission = submissionRepository.findById(submissionId)
+    public void deleteSubmission(Long submissionId, UserPrincipal student) {
+        AssignmentSubmission submission = submissionRepository.findWithAssignmentById(submissionId)
             .orElseThrow(() -> new RuntimeException("제출물을 찾을 수 없습니다."));
         
         if (!submission.getStudent().getId().equals(student.getId())) {
@@ -221,21 +483,50 @@ public class ClassroomService {
         }
         
         submissionRepository.delete(submission);
+        releaseImageAfterCommit(submission.getImageKey());
+    }
+
+    public AssignmentSubmission updateSubmission(Long submissionId, UserPrincipal student, String imageData) {
+        return updateSubmission(submissionId, student, () -> storeImage(imageData));
+    }
+
+    public AssignmentSubmission updateSubmissionStrokes(Long submissionId, UserPrincipal student, byte[] strokes) {
+        return updateSubmission(submissionId, student, () -> storeStrokes(strokes));
+    }
+
+    public AssignmentSubmission updateSubmissionImage(Long submissionId, UserPrincipal student, StoredImage image) {
+        return updateSubmission(submissionId, student, () -> image);
+    }
+
+    /**
+     * 업로드 본문을 읽기 전에 수정할 수 있는 제출물인지 확인한다.
+     */
+    @Transactional(readOnly = true)
+    public void checkUpdatable(Long submissionId, UserPrincipal student) {
+        AssignmentSubmission submission = submissionRepository.findWithAssignmentById(submissionId)
+            .orElseThrow(() -> new RuntimeException("제출물을 찾을 수 없습니다. (ID: " + submissionId + ")"));
+        if (!submission.getStudent().getId().equals(student.getId())) {
+            throw new RuntimeException("자신의 제출물만 수정할 수 있습니다.");
+        }
+        checkClassroomActive(submission.getAssignment());
+        if (submission.getAssignment().getDueDate().isBefore(LocalDateTime.now())) {
+            throw new RuntimeException("제출 기한이 지났습니다.");
+        }
     }
 
-    public AssignmentSubmission updateSubmission(Long submissionId, User student, String imageData) {
+    private AssignmentSubmission updateSubmission(Long submissionId, UserPrincipal student, Supplier<StoredImage> image) {
         logger.debug("Attempting to update submission ID {} by student {}", 
             submissionId, student.getStudentId());
         
         // 먼저 제출물 목록을 조회하여 로깅
-        List<AssignmentSubmission> allSubmissions = submissionRepository.findByStudent_Id(student.getId());
+        List<SubmissionSummary> allSubmissions = submissionRepository.findSummariesByStudentId(student.getId());
         logger.debug("Available submissions for student: {}", 
             allSubmissions.stream()
-                .map(s -> String.format("ID: %d, Assignment: %s", s.getId(), s.getAssignment().getTitle()))
+                .map(s -> String.format("ID: %d, Assignment: %d", s.getId(), s.getAssignmentId()))
                 .collect(Collectors.joining(", ")));
         
         // 제출물 존재 여부 확인
-        AssignmentSubmission submission = submissionRepository.findById(submissionId)
+        AssignmentSubmission submission = submissionRepository.findWithAssignmentById(submissionId)
             .orElseThrow(() -> {
                 logger.error("Submission not found: {}. Available submission IDs: {}", 
                     submissionId, 
@@ -251,6 +542,9 @@ public class ClassroomService {
                 student.getStudentId(), submissionId, submission.getStudent().getStudentId());
             throw new RuntimeException("자신의 제출물만 수정할 수 있습니다.");
         }
+
+        // 삭제 요청된 강의실의 제출물은 수정할 수 없다
+        checkClassroomActive(submission.getAssignment());
         
         // 과제 제출 기한 확인
         if (submission.getAssignment().getDueDate().isBefore(LocalDateTime.now())) {
@@ -260,13 +554,140 @@ public class ClassroomService {
         }
         
         // 제출물 정보 업데이트
-        submission.setImageData(imageData);
+        String previousImageKey = submission.getImageKey();
+        boolean legacy = previousImageKey == null && !submission.isBlank();
+        applyImage(submission, image.get());
+        if (legacy) {
+            // 저장소 도입 이전 제출물이면 이전 base64 데이터도 비운다
+            legacyImageRepository.clearImageData(submissionId);
+        }
         submission.setSubmittedAt(LocalDateTime.now());
         
         logger.info("Successfully updated submission {} by student {}", 
             submissionId, student.getStudentId());
         
-        return submissionRepository.save(submission);
+        AssignmentSubmission saved = submissionRepository.save(submission);
+        if (!Objects.equals(previousImageKey, saved.getImageKey())) {
+            releaseImageAfterCommit(previousImageKey);
+            processImageAfterCommit(saved.getImageKey(), saved.getImageMimeType());
+        }
+        return saved;
+    }
+
+    /**
+     * 커밋된 뒤에 접근 권한 캐시를 비운다. 커밋 전에 비우면 다른 요청이 이전 상태를 다시 캐시할 수 있다.
+     * userId가 null이면 강의실의 모든 항목을 비운다.
+     */
+    private void evictAccessAfterCommit(Long classroomId, Long userId) {
+        Runnable evict = () -> {
+            if (userId == null) {
+                classroomAccess.evictClassroom(classroomId);
+            } else {
+                classroomAccess.evict(classroomId, userId);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evict.run();
+                }
+            });
+        } else {
+            evict.run();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public StoredImage getSubmissionImage(Long submissionId, UserPrincipal user) {
+        return getSubmissionImage(submissionId, user, false);
+    }
+
+    /**
+     * 이미지 다운로드용으로 제출물 이미지를 조회한다.
+     * 담당 교수와 제출한 학생만 접근할 수 있다. 저장소 도입 이전의 제출물은 옮기지 않고 base64 내용을 그대로 돌려주며,
+     * 옮기는 일은 LegacyImageBackfill이 맡는다 (조회가 데이터를 바꾸거나 ETag를 바꾸지 않도록).
+     * 획 형식의 제출물은 PNG로 그린 파생 이미지를, 다시 압축한 PNG가 있으면 그것을 돌려준다.
+     * thumbnail이면 목록용 썸네일을 돌려준다.
+     */
+    @Transactional(readOnly = true)
+    public StoredImage getSubmissionImage(Long submissionId, UserPrincipal user, boolean thumbnail) {
+        AssignmentSubmission submission = submissionRepository.findWithAssignmentById(submissionId)
+            .orElseThrow(() -> new RuntimeException("제출물을 찾을 수 없습니다."));
+
+        boolean isOwner = submission.getStudent().getId().equals(user.getId());
+        boolean isProfessor = user.getRole() == UserRole.PROFESSOR
+            && submission.getAssignment().getClassroom().getProfessor().getId().equals(user.getId());
+        if (!isOwner && !isProfessor) {
+            logger.warn("User {} denied access to submission image {}", user.getStudentId(), submissionId);
+            throw new AccessDeniedException("이 제출물에 접근할 권한이 없습니다.");
+        }
+
+        if (submission.getImageKey() == null && !submission.isBlank()) {
+            String legacyImageData = legacyImageRepository.findById(submissionId)
+                .map(LegacySubmissionImage::getImageData)
+                .orElse(null);
+            if (legacyImageData == null) {
+                throw new RuntimeException("제출된 이미지가 없습니다.");
+            }
+            try {
+                return StoredImage.inline(DataUrl.parse(legacyImageData));
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("이미지 데이터 형식이 올바르지 않습니다: " + e.getMessage());
+            }
+        }
+        try {
+            if (submission.isBlank()) {
+                return blankImage();
+            }
+            if (thumbnail) {
+                return imagePipeline.thumbnail(submission.getImageKey(), submission.getImageMimeType());
+            }
+            if (StrokeDrawing.MEDIA_TYPE.equals(submission.getImageMimeType())) {
+                return rasterizer.rasterize(submission.getImageKey());
+            }
+            return imagePipeline.preferred(new StoredImage(
+                submission.getImageKey(), submission.getImageSize(), submission.getImageMimeType()));
+        } catch (IOException e) {
+            logger.error("Failed to prepare image of submission {}", submissionId, e);
+            throw new RuntimeException("제출 이미지를 그리는 중 오류가 발생했습니다.", e);
+        }
+    }
+
+    /**
+     * 저장소 도입 이전의 base64 이미지를 저장소로 옮긴다 (LegacyImageBackfill).
+     * 같은 내용은 같은 키로 한 번만 저장되고, 빈 캔버스는 저장하지 않고 표시만 한다. 옮겼으면 true.
+     */
+    public boolean migrateLegacyImage(Long submissionId) {
+        AssignmentSubmission submission = submissionRepository.findById(submissionId).orElse(null);
+        if (submission == null || submission.getImageKey() != null || submission.isBlank()) {
+            return false;
+        }
+        String legacyImageData = legacyImageRepository.findById(submissionId)
+            .map(LegacySubmissionImage::getImageData)
+            .orElse(null);
+        if (legacyImageData == null) {
+            return false;
+        }
+        migrateLegacyImage(submission, legacyImageData);
+        return true;
+    }
+
+    private void migrateLegacyImage(AssignmentSubmission submission, String legacyImageData) {
+        applyImage(submission, storeImage(legacyImageData));
+        submissionRepository.save(submission);
+        legacyImageRepository.clearImageData(submission.getId());
+        processImageAfterCommit(submission.getImageKey(), submission.getImageMimeType());
+    }
+
+    // 빈 제출물은 이미지를 저장하지 않으므로 공용 투명 이미지를 내려준다
+    private StoredImage blankImage() throws IOException {
+        StoredImage image = blankPlaceholder;
+        if (image == null || !imageStore.exists(image.getKey())) {
+            image = imageStore.store(new ByteArrayInputStream(blankDetector.placeholderPng()), "image/png");
+            blankPlaceholder = image;
+        }
+        return image;
     }
 
     public List<Assignment> getStudentAssignments(Long studentId) {
@@ -0,0 +1,16 @@
+package com.example.think.service;
+
+import lombok.Getter;
+
+/**
+ * 받은 변경분의 순번이 서버의 마지막 순번 다음이 아닐 때 발생한다. 클라이언트는 lastSeq부터 다시 보낸다.
+ */
+@Getter
+public class DraftConflictException extends RuntimeException {
+    private final long lastSeq;
+
+    public DraftConflictException(String message, long lastSeq) {
+        super(message);
+        this.lastSeq = lastSeq;
+    }
+}
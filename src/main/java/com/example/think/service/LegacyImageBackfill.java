@@ -0,0 +1,98 @@
+package com.example.think.service;
+
+import com.example.think.repository.AssignmentSubmissionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 저장소 도입 이전에 LONGTEXT로 저장된 제출 이미지를 한 번에 저장소로 옮기는 일회성 작업.
+ * app.storage.legacyBackfill.enabled=true로 띄우면 시작 후 백그라운드에서 한 번 실행된다.
+ * ID는 batchSize개씩만 조회하고 이미지 본문은 한 행씩 별도 트랜잭션에서 읽으므로 메모리와 락을 오래 잡지 않는다.
+ * 같은 내용의 이미지는 같은 키로 한 번만 저장되고, 빈 캔버스는 저장하지 않고 blank로 표시된다.
+ */
+@Component
+public class LegacyImageBackfill {
+    private static final Logger logger = LoggerFactory.getLogger(LegacyImageBackfill.class);
+
+    private final AssignmentSubmissionRepository submissionRepository;
+    private final ClassroomService classroomService;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long pauseMillis;
+    private final Counter migratedCounter;
+
+    public LegacyImageBackfill(AssignmentSubmissionRepository submissionRepository,
+                               ClassroomService classroomService,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.storage.legacyBackfill.enabled}") boolean enabled,
+                               @Value("${app.storage.legacyBackfill.batchSize}") int batchSize,
+                               @Value("${app.storage.legacyBackfill.pauseMs}") long pauseMillis) {
+        this.submissionRepository = submissionRepository;
+        this.classroomService = classroomService;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+        this.migratedCounter = Counter.builder("think.storage.legacy.migrated")
+            .description("Legacy base64 submission images moved into the image store")
+            .register(meterRegistry);
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void runOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            run();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 옮긴 제출물 수를 돌려준다. 실패한 행은 건너뛰고 기록만 하므로 다시 실행하면 그 행만 다시 시도한다.
+     */
+    public int run() throws InterruptedException {
+        logger.info("Starting legacy submission image backfill");
+        long afterId = 0;
+        int migrated = 0;
+        int failed = 0;
+        while (true) {
+            List<Long> ids = submissionRepository.findLegacyImageIds(afterId, batchSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            for (Long id : ids) {
+                try {
+                    if (classroomService.migrateLegacyImage(id)) {
+                        migrated++;
+                        migratedCounter.increment();
+                    }
+                } catch (Exception e) {
+                    failed++;
+                    logger.warn("Failed to migrate legacy image of submission {}", id, e);
+                }
+            }
+            afterId = ids.get(ids.size() - 1);
+            logger.info("Legacy image backfill: {} migrated, {} failed, up to submission {}", migrated, failed, afterId);
+            if (ids.size() < batchSize) {
+                break;
+            }
+            if (pauseMillis > 0) {
+                Thread.sleep(pauseMillis);
+            }
+        }
+        logger.info("Legacy submission image backfill finished: {} migrated, {} failed", migrated, failed);
+        return migrated;
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.think.service;
+
+import com.example.think.dto.RosterImportResult;
+import com.example.think.dto.RosterImportResult.Status;
+import com.example.think.dto.UserRef;
+import com.example.think.entity.UserRole;
+import com.example.think.repository.ClassroomRepository;
+import com.example.think.repository.UserRepository;
+import com.example.think.security.ClassroomAccessEvaluator;
+import com.example.think.security.UserPrincipal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+/**
+ * 담당 교수가 학번 목록으로 수강생을 일괄 등록한다.
+ * batchSize 명씩 IN 조회로 사용자를 찾고, 수강 행은 다중 행 INSERT IGNORE 한 문장으로 넣는다.
+ * 요청 본문은 트랜잭션 밖에서 읽고 배치마다 짧은 트랜잭션을 따로 쓰므로, 업로드가 느려도
+ * DB 커넥션이나 강의실 행 잠금을 본문을 다 읽을 때까지 잡고 있지 않는다.
+ */
+@Service
+public class RosterImportService {
+    private static final Logger logger = LoggerFactory.getLogger(RosterImportService.class);
+
+    @Autowired
+    private ClassroomRepository classroomRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ClassroomAccessEvaluator classroomAccess;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.classroom.rosterImportBatchSize}")
+    private int batchSize;
+
+    @Value("${app.classroom.materializedStudentCount}")
+    private boolean materializedStudentCount;
+
+    public RosterImportResult importRoster(Long classroomId, InputStream body, boolean json,
+                                           UserPrincipal professor) throws IOException {
+        if (professor.getRole() != UserRole.PROFESSOR
+                || !classroomRepository.existsByIdAndProfessor_Id(classroomId, professor.getId())) {
+            throw new AccessDeniedException("해당 강의실의 담당 교수만 수강생을 등록할 수 있습니다.");
+        }
+
+        RosterImportResult result = new RosterImportResult(classroomId);
+        Set<String> seen = new HashSet<>();
+        Map<Integer, String> batch = new LinkedHashMap<>();
+        int row = 0;
+        try (RosterReader reader = RosterReader.open(body, json)) {
+            String studentId;
+            while ((studentId = reader.next()) != null) {
+                row++;
+                if (studentId.isEmpty()) {
+                    result.add(row, studentId, Status.INVALID);
+                } else if (!seen.add(studentId)) {
+                    result.add(row, studentId, Status.DUPLICATE);
+                } else {
+                    batch.put(row, studentId);
+                    if (batch.size() >= batchSize) {
+                        enrollBatch(classroomId, batch, result);
+                        batch.clear();
+                    }
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            enrollBatch(classroomId, batch, result);
+        }
+
+        // 결과는 입력 순서대로 돌려준다
+        result.getResults().sort((a, b) -> Integer.compare(a.getRow(), b.getRow()));
+        logger.info("Roster import for classroom {}: {} rows, {} enrolled, {} failed",
+            classroomId, result.getTotal(), result.getEnrolled(), result.getFailed());
+        return result;
+    }
+
+    // 배치마다 따로 커밋한다. 등록된 학생이 있으면 커밋 후에 접근 캐시를 비운다
+    private void enrollBatch(Long classroomId, Map<Integer, String> batch, RosterImportResult result) {
+        int enrolled = transactionTemplate.execute(status -> enrollBatchInTransaction(classroomId, batch, result));
+        if (enrolled > 0) {
+            classroomAccess.evictClassroom(classroomId);
+        }
+    }
+
+    private int enrollBatchInTransaction(Long classroomId, Map<Integer, String> batch, RosterImportResult result) {
+        Map<String, UserRef> users = userRepository.findByStudentIdIn(batch.values()).stream()
+            .collect(Collectors.toMap(UserRef::getStudentId, Function.identity()));
+
+        List<Long> candidateIds = users.values().stream()
+            .filter(user -> user.getRole() == UserRole.STUDENT)
+            .map(UserRef::getId)
+            .collect(Collectors.toList());
+        Set<Long> alreadyEnrolled = candidateIds.isEmpty()
+            ? Set.of()
+            : new HashSet<>(classroomRepository.findEnrolledStudentIds(classroomId, candidateIds));
+
+        Map<Integer, UserRef> toInsert = new LinkedHashMap<>();
+        batch.forEach((row, studentId) -> {
+            UserRef user = users.get(studentId);
+            if (user == null) {
+                result.add(row, studentId, Status.NOT_FOUND);
+            } else if (user.getRole() != UserRole.STUDENT) {
+                result.add(row, studentId, Status.NOT_STUDENT);
+            } else if (alreadyEnrolled.contains(user.getId())) {
+                result.add(row, studentId, Status.ALREADY_ENROLLED);
+            } else {
+                toInsert.put(row, user);
+            }
+        });
+
+        if (toInsert.isEmpty()) {
+            return 0;
+        }
+        Set<Long> inserted = insertMembers(classroomId,
+            toInsert.values().stream().map(UserRef::getId).collect(Collectors.toList()));
+        // ClassroomService.enrollStudent와 같이, 저장된 수강생 수를 쓰지 않으면 강의실 행을 갱신하지 않는다
+        if (materializedStudentCount && !inserted.isEmpty()) {
+            classroomRepository.adjustStudentCount(classroomId, inserted.size());
+        }
+        // 조회 이후 직접 가입한 학생은 이 요청이 등록한 것이 아니다
+        toInsert.forEach((row, user) -> result.add(row, user.getStudentId(),
+            inserted.contains(user.getId()) ? Status.ENROLLED : Status.ALREADY_ENROLLED));
+        return inserted.size();
+    }
+
+    /**
+     * 실제로 이 요청이 넣은 학생 ID를 돌려준다. 보통은 한 문장으로 모두 들어간다.
+     * 그 사이 직접 가입한 학생이 있어 덜 들어갔으면 어느 학생인지 알 수 있도록
+     * 이 배치의 INSERT만 세이브포인트로 되돌리고 한 명씩 다시 넣는다.
+     * (JPA 트랜잭션 관리자는 세이브포인트를 지원하지 않으므로 트랜잭션에 묶인 JDBC 커넥션에서 직접 만든다.)
+     */
+    private Set<Long> insertMembers(Long classroomId, List<Long> studentIds) {
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            Savepoint savepoint = connection.setSavepoint();
+            try {
+                if (insertIgnore(classroomId, studentIds) == studentIds.size()) {
+                    return new HashSet<>(studentIds);
+                }
+                connection.rollback(savepoint);
+                Set<Long> inserted = new HashSet<>();
+                for (Long studentId : studentIds) {
+                    if (insertIgnore(classroomId, List.of(studentId)) > 0) {
+                        inserted.add(studentId);
+                    }
+                }
+                logger.info("Roster import for classroom {}: {} of {} students joined concurrently",
+                    classroomId, studentIds.size() - inserted.size(), studentIds.size());
+                return inserted;
+            } finally {
+                connection.releaseSavepoint(savepoint);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("수강생 등록 중 오류가 발생했습니다.", e);
+        }
+    }
+
+    // 동시에 가입한 학생과 겹쳐도 실패하지 않도록 INSERT IGNORE로 한 번에 넣는다
+    private int insertIgnore(Long classroomId, List<Long> studentIds) {
+        StringBuilder sql = new StringBuilder("INSERT IGNORE INTO classroom_students (classroom_id, student_id) VALUES ");
+        MapSqlParameterSource params = new MapSqlParameterSource("classroomId", classroomId);
+        for (int i = 0; i < studentIds.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(:classroomId, :s").append(i).append(')');
+            params.addValue("s" + i, studentIds.get(i));
+        }
+        return jdbcTemplate.update(sql.toString(), params);
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.think.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 요청 본문에서 학번을 한 개씩 읽는다. 전체 명단을 메모리에 올리지 않는다.
+ * CSV: 한 줄에 한 명, 첫 번째 열이 학번 (첫 줄이 studentId/학번 헤더면 건너뜀)
+ * JSON: ["20240001", ...] 또는 [{"studentId": "20240001"}, ...]
+ */
+abstract class RosterReader implements Closeable {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * 다음 학번. 값이 비어 있거나 형식이 잘못된 행은 빈 문자열, 끝이면 null.
+     */
+    abstract String next() throws IOException;
+
+    static RosterReader open(InputStream in, boolean json) throws IOException {
+        return json ? new JsonRosterReader(JSON_FACTORY.createParser(in)) : new CsvRosterReader(in);
+    }
+
+    private static final class CsvRosterReader extends RosterReader {
+        private final BufferedReader reader;
+        private boolean firstLine = true;
+
+        private CsvRosterReader(InputStream in) {
+            this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        String next() throws IOException {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                boolean header = firstLine;
+                firstLine = false;
+                if (line.isBlank()) {
+                    continue;
+                }
+                int comma = line.indexOf(',');
+                String value = (comma < 0 ? line : line.substring(0, comma)).trim();
+                if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                    value = value.substring(1, value.length() - 1).trim();
+                }
+                if (header && (value.equalsIgnoreCase("studentId") || value.equals("학번"))) {
+                    continue;
+                }
+                return value;
+            }
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    private static final class JsonRosterReader extends RosterReader {
+        private final JsonParser parser;
+
+        private JsonRosterReader(JsonParser parser) throws IOException {
+            this.parser = parser;
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("학번 목록은 JSON 배열이어야 합니다.");
+            }
+        }
+
+        @Override
+        String next() throws IOException {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                return null;
+            }
+            if (token == JsonToken.VALUE_STRING || token == JsonToken.VALUE_NUMBER_INT) {
+                return parser.getText().trim();
+            }
+            if (token == JsonToken.START_OBJECT) {
+                String value = "";
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    parser.nextToken();
+                    if ("studentId".equals(field) && parser.currentToken().isScalarValue()) {
+                        value = parser.getText().trim();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+                return value;
+            }
+            parser.skipChildren();
+            return "";
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
+        }
+    }
+}
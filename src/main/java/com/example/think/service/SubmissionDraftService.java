@@ -0,0 +1,213 @@
+package com.example.think.service;
+
+import com.example.think.drawing.StrokeCodec;
+import com.example.think.drawing.StrokeDrawing;
+import com.example.think.dto.DraftState;
+import com.example.think.entity.Assignment;
+import com.example.think.entity.AssignmentSubmission;
+import com.example.think.entity.DraftDelta;
+import com.example.think.entity.SubmissionDraft;
+import com.example.think.repository.AssignmentRepository;
+import com.example.think.repository.AssignmentSubmissionRepository;
+import com.example.think.repository.DraftDeltaRepository;
+import com.example.think.repository.SubmissionDraftRepository;
+import com.example.think.security.ClassroomAccessEvaluator;
+import com.example.think.security.UserPrincipal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 제출 전 그림의 자동 저장. 클라이언트는 새로 그린 획만 순번을 붙여 보내고 (변경분 로그),
+ * 변경분이 일정 개수 쌓이면 스냅샷 하나로 합친다. 제출하면 임시 저장본이 제출물이 된다.
+ */
+@Service
+@Transactional
+public class SubmissionDraftService {
+    private static final Logger logger = LoggerFactory.getLogger(SubmissionDraftService.class);
+
+    @Autowired
+    private SubmissionDraftRepository draftRepository;
+
+    @Autowired
+    private DraftDeltaRepository deltaRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private AssignmentSubmissionRepository submissionRepository;
+
+    @Autowired
+    private ClassroomService classroomService;
+
+    @Autowired
+    private ClassroomAccessEvaluator classroomAccess;
+
+    @Value("${app.draft.maxDeltaBytes}")
+    private int maxDeltaBytes;
+
+    @Value("${app.draft.compactEvery}")
+    private int compactEvery;
+
+    @Value("${app.storage.maxStrokeBytes}")
+    private int maxStrokeBytes;
+
+    @Transactional(readOnly = true)
+    public Optional<DraftState> getDraft(Long assignmentId, UserPrincipal student) {
+        return draftRepository.findByAssignmentIdAndStudentId(assignmentId, student.getId())
+            .map(SubmissionDraftService::toState);
+    }
+
+    /**
+     * 스냅샷과 변경분을 합친 현재 그림. 임시 저장본이 없으면 비어 있다.
+     */
+    @Transactional(readOnly = true)
+    public Optional<byte[]> getDraftStrokes(Long assignmentId, UserPrincipal student) {
+        return draftRepository.findByAssignmentIdAndStudentId(assignmentId, student.getId())
+            .map(draft -> StrokeCodec.encode(replay(draft)));
+    }
+
+    /**
+     * 순번 seq의 변경분을 덧붙이고 마지막 순번을 돌려준다.
+     * 이미 받은 순번을 같은 내용으로 다시 보내면 (응답을 받지 못해 재전송한 경우) 그대로 성공으로 처리한다.
+     * 그 순번이 이미 스냅샷으로 합쳐졌으면 내용을 확인할 수 없으므로 충돌로 돌려보낸다.
+     */
+    public DraftState appendDelta(Long assignmentId, UserPrincipal student, long seq, boolean reset, byte[] data) {
+        if (data == null || data.length == 0) {
+            throw new RuntimeException("획 데이터가 비어 있습니다.");
+        }
+        if (data.length > maxDeltaBytes) {
+            throw new RuntimeException("변경분이 너무 큽니다. (최대 " + maxDeltaBytes + "바이트)");
+        }
+        try {
+            StrokeCodec.decode(data);
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("획 데이터 형식이 올바르지 않습니다: " + e.getMessage());
+        }
+        checkWritable(assignmentId, student);
+
+        draftRepository.insertIgnoringDuplicate(assignmentId, student.getId(), LocalDateTime.now());
+        SubmissionDraft draft = draftRepository.findForUpdate(assignmentId, student.getId())
+            .orElseThrow(() -> new IllegalStateException("임시 저장본을 만들지 못했습니다."));
+
+        if (seq <= draft.getLastSeq()) {
+            Optional<DraftDelta> existing = deltaRepository.findByDraftIdAndSeq(draft.getId(), seq);
+            // 스냅샷으로 합쳐진 순번은 내용을 비교할 수 없으므로 충돌로 보고 전체 그림을 다시 받는다
+            if (existing.isEmpty()) {
+                throw new DraftConflictException("이미 스냅샷으로 합쳐진 순번입니다.", draft.getLastSeq());
+            }
+            if (existing.get().isReset() == reset && Arrays.equals(existing.get().getData(), data)) {
+                return toState(draft);
+            }
+            throw new DraftConflictException("이미 다른 내용으로 저장된 순번입니다.", draft.getLastSeq());
+        }
+        if (seq != draft.getLastSeq() + 1) {
+            throw new DraftConflictException("변경분 순번이 맞지 않습니다.", draft.getLastSeq());
+        }
+
+        DraftDelta delta = new DraftDelta();
+        delta.setDraftId(draft.getId());
+        delta.setSeq(seq);
+        delta.setReset(reset);
+        delta.setData(data);
+        deltaRepository.save(delta);
+
+        draft.setLastSeq(seq);
+        draft.setUpdatedAt(LocalDateTime.now());
+        if (reset || draft.getLastSeq() - draft.getSnapshotSeq() >= compactEvery) {
+            compact(draft);
+        }
+        return toState(draft);
+    }
+
+    /**
+     * 임시 저장본을 제출물로 만든다. 이미 제출한 과제면 기존 제출물을 고친다.
+     */
+    public AssignmentSubmission submitDraft(Long assignmentId, UserPrincipal student) {
+        SubmissionDraft draft = draftRepository.findForUpdate(assignmentId, student.getId())
+            .orElseThrow(() -> new RuntimeException("임시 저장된 그림이 없습니다."));
+        byte[] strokes = StrokeCodec.encode(replay(draft));
+
+        AssignmentSubmission submission = submissionRepository.findByAssignment_IdAndStudent_Id(assignmentId, student.getId())
+            .map(existing -> classroomService.updateSubmissionStrokes(existing.getId(), student, strokes))
+            .orElseGet(() -> classroomService.submitStrokes(assignmentId, student, strokes));
+
+        deltaRepository.deleteByDraftId(draft.getId());
+        draftRepository.delete(draft);
+        logger.info("Promoted draft of assignment {} by {} to submission {} ({} bytes)",
+            assignmentId, student.getStudentId(), submission.getId(), strokes.length);
+        return submission;
+    }
+
+    public void discardDraft(Long assignmentId, UserPrincipal student) {
+        draftRepository.findForUpdate(assignmentId, student.getId()).ifPresent(draft -> {
+            deltaRepository.deleteByDraftId(draft.getId());
+            draftRepository.delete(draft);
+        });
+    }
+
+    private void checkWritable(Long assignmentId, UserPrincipal student) {
+        Assignment assignment = assignmentRepository.findById(assignmentId)
+            .orElseThrow(() -> new RuntimeException("과제를 찾을 수 없습니다."));
+        if (!classroomAccess.canAccess(assignment.getClassroom().getId(), student)) {
+            throw new AccessDeniedException("수강 중인 강의실의 과제만 저장할 수 있습니다.");
+        }
+        if (assignment.getDueDate().isBefore(LocalDateTime.now())) {
+            throw new RuntimeException("제출 기한이 지났습니다.");
+        }
+    }
+
+    /**
+     * 스냅샷 이후의 변경분을 스냅샷에 합치고 로그에서 지운다.
+     */
+    private void compact(SubmissionDraft draft) {
+        byte[] snapshot = StrokeCodec.encode(replay(draft));
+        if (snapshot.length > maxStrokeBytes) {
+            throw new RuntimeException("임시 저장 용량을 초과했습니다. (최대 " + maxStrokeBytes + "바이트)");
+        }
+        int removed = deltaRepository.deleteUpTo(draft.getId(), draft.getLastSeq());
+        draft.setSnapshot(snapshot);
+        draft.setSnapshotSeq(draft.getLastSeq());
+        logger.debug("Compacted {} deltas of draft {} into a {} byte snapshot", removed, draft.getId(), snapshot.length);
+    }
+
+    private StrokeDrawing replay(SubmissionDraft draft) {
+        int width = 0;
+        int height = 0;
+        List<StrokeDrawing.Stroke> strokes = new ArrayList<>();
+        if (draft.getSnapshot() != null) {
+            StrokeDrawing snapshot = StrokeCodec.decode(draft.getSnapshot());
+            width = snapshot.getWidth();
+            height = snapshot.getHeight();
+            strokes.addAll(snapshot.getStrokes());
+        }
+        for (DraftDelta delta : deltaRepository.findByDraftIdAndSeqGreaterThanOrderBySeq(draft.getId(), draft.getSnapshotSeq())) {
+            StrokeDrawing drawing = StrokeCodec.decode(delta.getData());
+            if (delta.isReset()) {
+                strokes.clear();
+            }
+            strokes.addAll(drawing.getStrokes());
+            width = drawing.getWidth();
+            height = drawing.getHeight();
+        }
+        if (width == 0) {
+            throw new RuntimeException("임시 저장된 그림이 없습니다.");
+        }
+        return new StrokeDrawing(width, height, strokes);
+    }
+
+    private static DraftState toState(SubmissionDraft draft) {
+        return new DraftState(draft.getAssignmentId(), draft.getLastSeq(), draft.getSnapshotSeq(), draft.getUpdatedAt());
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.think.service;
+
+import com.example.think.repository.AssignmentSubmissionRepository;
+import com.example.think.repository.SubmissionImageBlobRepository;
+import com.example.think.storage.SubmissionImageStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collection;
+
+/**
+ * 더 이상 참조되지 않는 제출 이미지를 저장소에서 지운다.
+ * 제출물 삭제 트랜잭션이 커밋된 뒤 별도 스레드에서 실행되므로 요청 응답을 늦추지 않는다.
+ * 참조 확인과 파일 삭제는 이미지 키별 잠금 행(SubmissionImageBlob)을 잡은 채로 하므로,
+ * 같은 이미지를 다시 제출하는 트랜잭션(lockForReference)과 엇갈려도 참조되는 파일을 지우지 않는다.
+ */
+@Component
+public class SubmissionImageCollector {
+    private static final Logger logger = LoggerFactory.getLogger(SubmissionImageCollector.class);
+
+    @Autowired
+    private AssignmentSubmissionRepository submissionRepository;
+
+    @Autowired
+    private SubmissionImageBlobRepository blobRepository;
+
+    @Autowired
+    private SubmissionImageStore imageStore;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Async
+    public void collect(Collection<String> imageKeys) {
+        int deleted = 0;
+        for (String imageKey : imageKeys) {
+            try {
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> deleteIfUnreferenced(imageKey)))) {
+                    deleted++;
+                }
+            } catch (RuntimeException e) {
+                logger.warn("Failed to delete submission image {}", imageKey, e);
+            }
+        }
+        logger.debug("Deleted {} of {} unreferenced submission images", deleted, imageKeys.size());
+    }
+
+    /**
+     * 제출물이 imageKey를 참조하도록 기록하는 트랜잭션 안에서 호출한다. 커밋할 때까지 이 이미지는 지워지지 않는다.
+     * 저장한 뒤 잠금을 잡기 전에 이미 지워졌다면 예외를 던져 기록을 취소한다.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lockForReference(String imageKey) {
+        lock(imageKey);
+        if (!imageStore.exists(imageKey)) {
+            logger.warn("Image {} was collected before its submission was recorded", imageKey);
+            throw new RuntimeException("이미지 저장 중 오류가 발생했습니다. 다시 시도해 주세요.");
+        }
+    }
+
+    private boolean deleteIfUnreferenced(String imageKey) {
+        lock(imageKey);
+        // 같은 내용의 이미지를 다른 제출물이 아직 참조할 수 있다
+        if (submissionRepository.existsByImageKey(imageKey)) {
+            return false;
+        }
+        try {
+            imageStore.delete(imageKey);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        blobRepository.deleteByImageKey(imageKey);
+        return true;
+    }
+
+    private void lock(String imageKey) {
+        blobRepository.insertIgnoringDuplicate(imageKey);
+        blobRepository.findForUpdate(imageKey);
+    }
+}
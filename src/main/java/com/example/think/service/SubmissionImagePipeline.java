@@ -0,0 +1,237 @@
+package com.example.think.service;
+
+import com.example.think.drawing.StrokeDrawing;
+import com.example.think.storage.BoundedImageReader;
+import com.example.think.storage.ImageTooLargeException;
+import com.example.think.storage.StoredImage;
+import com.example.think.storage.SubmissionImageStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 새로 저장되거나 바뀐 제출 이미지에서 파생 이미지를 만들어 원본 옆에 저장한다.
+ * <ul>
+ *   <li>"opt": 최대 압축으로 다시 쓴 PNG (무손실). 원본보다 작을 때만 저장하며, 있으면 원본 대신 내려준다.</li>
+ *   <li>"thumb": 채점 목록용 작은 PNG (가로 thumbnailWidth 픽셀).</li>
+ * </ul>
+ * 작업은 크기가 정해진 큐에 쌓아 전용 스레드에서 처리한다. 큐가 가득 차면 요청한 스레드가 직접 처리하므로
+ * 제출이 몰릴 때 제출 요청이 느려지는 방식으로 부하가 조절된다. 아직 만들어지지 않은 썸네일은 요청 시 만든다.
+ */
+@Component
+public class SubmissionImagePipeline {
+    private static final Logger logger = LoggerFactory.getLogger(SubmissionImagePipeline.class);
+
+    public static final String OPTIMIZED = "opt";
+    public static final String THUMBNAIL = "thumb";
+    private static final String PNG = "image/png";
+
+    private final SubmissionImageStore imageStore;
+    private final SubmissionRasterizer rasterizer;
+    private final int thumbnailWidth;
+    private final ThreadPoolExecutor executor;
+    private final Timer processTimer;
+    private final Counter callerRunsCounter;
+
+    @Autowired
+    public SubmissionImagePipeline(SubmissionImageStore imageStore,
+                                   SubmissionRasterizer rasterizer,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.image.pipeline.threads}") int threads,
+                                   @Value("${app.image.pipeline.queueCapacity}") int queueCapacity,
+                                   @Value("${app.image.thumbnailWidth}") int thumbnailWidth) {
+        this.imageStore = imageStore;
+        this.rasterizer = rasterizer;
+        this.thumbnailWidth = thumbnailWidth;
+        this.callerRunsCounter = Counter.builder("think.image.pipeline.caller_runs")
+            .description("Image pipeline tasks run on the submitting thread because the queue was full")
+            .register(meterRegistry);
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "image-pipeline-" + sequence.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            (task, pool) -> {
+                if (!pool.isShutdown()) {
+                    callerRunsCounter.increment();
+                    task.run();
+                }
+            });
+
+        Gauge.builder("think.image.pipeline.queue.depth", executor, e -> e.getQueue().size())
+            .description("Submission images waiting for rendition processing")
+            .register(meterRegistry);
+        this.processTimer = Timer.builder("think.image.pipeline.duration")
+            .description("Time spent producing renditions of one submission image")
+            .register(meterRegistry);
+    }
+
+    /**
+     * 파생 이미지 생성을 큐에 넣는다. 트랜잭션 커밋 후에 호출한다.
+     */
+    public void enqueue(String key, String mimeType) {
+        executor.execute(() -> {
+            try {
+                process(key, mimeType);
+            } catch (Exception e) {
+                // 썸네일은 요청 시 다시 만들 수 있으므로 기록만 한다
+                logger.warn("Failed to process renditions of image {}", key, e);
+            }
+        });
+    }
+
+    public void process(String key, String mimeType) throws IOException {
+        long started = System.nanoTime();
+        try {
+            if (!imageStore.exists(key)) {
+                // 처리 전에 제출물이 지워진 경우
+                return;
+            }
+            boolean strokes = StrokeDrawing.MEDIA_TYPE.equals(mimeType);
+            BufferedImage image;
+            try {
+                image = readSource(key, strokes);
+            } catch (ImageTooLargeException e) {
+                // 캔버스보다 큰 이미지는 디코딩하지 않고 파생 이미지 없이 원본만 내려준다
+                logger.info("Skipping renditions of image {}: {}", key, e.getMessage());
+                return;
+            }
+            if (!strokes && !imageStore.exists(key, OPTIMIZED)) {
+                optimize(key, image);
+            }
+            if (!imageStore.exists(key, THUMBNAIL)) {
+                storeThumbnail(key, image);
+            }
+        } finally {
+            processTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * 썸네일. 아직 없으면 지금 만든다. 캔버스보다 커서 만들 수 없으면 원본을 돌려준다.
+     */
+    public StoredImage thumbnail(String key, String mimeType) throws IOException {
+        if (!imageStore.exists(key, THUMBNAIL)) {
+            try {
+                return storeThumbnail(key, readSource(key, StrokeDrawing.MEDIA_TYPE.equals(mimeType)));
+            } catch (ImageTooLargeException e) {
+                return new StoredImage(key, imageStore.size(key), mimeType);
+            }
+        }
+        return new StoredImage(key, imageStore.size(key, THUMBNAIL), PNG, THUMBNAIL);
+    }
+
+    /**
+     * 다시 압축한 PNG가 있으면 그것을, 없으면 원본을 돌려준다.
+     */
+    public StoredImage preferred(StoredImage original) throws IOException {
+        if (original.getRendition() == null && imageStore.exists(original.getKey(), OPTIMIZED)) {
+            return new StoredImage(original.getKey(), imageStore.size(original.getKey(), OPTIMIZED), PNG, OPTIMIZED);
+        }
+        return original;
+    }
+
+    private BufferedImage readSource(String key, boolean strokes) throws IOException {
+        String rendition = strokes ? rasterizer.rasterize(key).getRendition() : null;
+        try (InputStream in = Channels.newInputStream(imageStore.openChannel(key, rendition))) {
+            BufferedImage image = BoundedImageReader.read(in);
+            if (image == null) {
+                throw new IOException("이미지를 읽을 수 없습니다: " + key);
+            }
+            return image;
+        }
+    }
+
+    private void optimize(String key, BufferedImage image) throws IOException {
+        byte[] png = encodePng(image);
+        long originalSize = imageStore.size(key);
+        if (png.length >= originalSize) {
+            logger.debug("Recompressed image {} is not smaller ({} >= {} bytes), keeping original", key, png.length, originalSize);
+            return;
+        }
+        imageStore.storeRendition(key, OPTIMIZED, new ByteArrayInputStream(png), PNG);
+        logger.debug("Recompressed image {} from {} to {} bytes", key, originalSize, png.length);
+    }
+
+    private StoredImage storeThumbnail(String key, BufferedImage image) throws IOException {
+        return imageStore.storeRendition(key, THUMBNAIL, new ByteArrayInputStream(encodePng(scale(image, thumbnailWidth))), PNG);
+    }
+
+    /**
+     * 절반씩 여러 번 줄여 한 번에 크게 줄일 때 생기는 계단 현상을 피한다.
+     */
+    static BufferedImage scale(BufferedImage source, int maxWidth) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        if (width <= maxWidth) {
+            return source;
+        }
+        int targetHeight = Math.max(1, (int) Math.round((double) height * maxWidth / width));
+        BufferedImage current = source;
+        while (width > maxWidth) {
+            width = Math.max(maxWidth, width / 2);
+            height = width == maxWidth ? targetHeight : Math.max(1, height / 2);
+            BufferedImage next = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        }
+        return current;
+    }
+
+    // PNG 작성기의 압축 품질 0은 deflate 최대 압축에 해당한다
+    private static byte[] encodePng(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("png").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(stream);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(0.0f);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
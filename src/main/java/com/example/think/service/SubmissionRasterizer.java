@@ -0,0 +1,48 @@
+package com.example.think.service;
+
+import com.example.think.drawing.StrokeCodec;
+import com.example.think.drawing.StrokeDrawing;
+import com.example.think.drawing.StrokeRasterizer;
+import com.example.think.storage.StoredImage;
+import com.example.think.storage.SubmissionImageStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 획 형식으로 제출된 이미지를 처음 요청될 때 PNG로 그려 원본 옆에 "png" 파생 이미지로 저장한다.
+ * 이후 요청은 저장된 PNG를 그대로 보낸다. 원본이 지워지면 파생 이미지도 함께 지워진다.
+ */
+@Component
+public class SubmissionRasterizer {
+    private static final Logger logger = LoggerFactory.getLogger(SubmissionRasterizer.class);
+
+    public static final String RENDITION = "png";
+
+    @Autowired
+    private SubmissionImageStore imageStore;
+
+    public StoredImage rasterize(String strokeKey) throws IOException {
+        if (imageStore.exists(strokeKey, RENDITION)) {
+            return new StoredImage(strokeKey, imageStore.size(strokeKey, RENDITION), "image/png", RENDITION);
+        }
+
+        StrokeDrawing drawing;
+        try (InputStream in = imageStore.open(strokeKey)) {
+            drawing = StrokeCodec.decode(in.readAllBytes());
+        }
+        long started = System.nanoTime();
+        ByteArrayOutputStream png = new ByteArrayOutputStream(16 * 1024);
+        StrokeRasterizer.writePng(drawing, png);
+        logger.debug("Rendered strokes {} ({} strokes, {} points) to {} bytes of PNG in {} ms",
+            strokeKey, drawing.getStrokes().size(), drawing.getPointCount(), png.size(),
+            (System.nanoTime() - started) / 1_000_000);
+        return imageStore.storeRendition(strokeKey, RENDITION, new ByteArrayInputStream(png.toByteArray()), "image/png");
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.think.service;
+
+import com.example.think.dto.SubmissionSummary;
+import com.example.think.entity.AssignmentSubmission;
+import com.example.think.repository.AssignmentSubmissionRepository;
+import com.example.think.security.UserPrincipal;
+import com.example.think.storage.BlankImageDetector;
+import com.example.think.storage.BoundedImageReader;
+import com.example.think.storage.LimitedInputStream;
+import com.example.think.storage.StoredImage;
+import com.example.think.storage.SubmissionImageStore;
+import com.example.think.storage.UploadTooLargeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 원본 PNG 바이트(image/png 본문 또는 multipart 파일)로 받는 제출.
+ * 본문은 고정 크기 버퍼로 읽으면서 바로 저장소에 쓰므로 업로드 하나가 쓰는 힙은 이미지 크기와 무관하다.
+ * 업로드 중에는 DB 커넥션을 잡고 있지 않도록, 권한/기한 확인 → 저장 → 제출물 기록을 각각 따로 실행한다.
+ * 이 요청들은 EntityManager를 요청 내내 열어 두지 않으므로 (WebConfig) 응답도 엔티티 대신 요약으로 돌려준다.
+ */
+@Service
+public class SubmissionUploadService {
+    private static final Logger logger = LoggerFactory.getLogger(SubmissionUploadService.class);
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'};
+
+    @Autowired
+    private ClassroomService classroomService;
+
+    @Autowired
+    private AssignmentSubmissionRepository submissionRepository;
+
+    @Autowired
+    private SubmissionImageStore imageStore;
+
+    @Autowired
+    private SubmissionImageCollector imageCollector;
+
+    @Autowired
+    private BlankImageDetector blankDetector;
+
+    @Value("${app.storage.maxImageBytes}")
+    private long maxImageBytes;
+
+    public long getMaxImageBytes() {
+        return maxImageBytes;
+    }
+
+    public SubmissionSummary submit(Long assignmentId, UserPrincipal student, InputStream body, long contentLength)
+            throws IOException {
+        checkLength(contentLength);
+        classroomService.checkSubmittable(assignmentId);
+        StoredImage image = store(body);
+        AssignmentSubmission submission;
+        try {
+            submission = classroomService.submitStoredImage(assignmentId, student, image);
+        } catch (RuntimeException e) {
+            release(image);
+            throw e;
+        }
+        return summary(submission);
+    }
+
+    public SubmissionSummary update(Long submissionId, UserPrincipal student, InputStream body, long contentLength)
+            throws IOException {
+        checkLength(contentLength);
+        classroomService.checkUpdatable(submissionId, student);
+        StoredImage image = store(body);
+        AssignmentSubmission submission;
+        try {
+            submission = classroomService.updateSubmissionImage(submissionId, student, image);
+        } catch (RuntimeException e) {
+            release(image);
+            throw e;
+        }
+        return summary(submission);
+    }
+
+    private SubmissionSummary summary(AssignmentSubmission submission) {
+        return submissionRepository.findSummaryById(submission.getId())
+            .orElseThrow(() -> new RuntimeException("제출물을 찾을 수 없습니다. (ID: " + submission.getId() + ")"));
+    }
+
+    // Content-Length를 알면 본문을 읽기 전에 거절한다
+    private void checkLength(long contentLength) throws UploadTooLargeException {
+        if (contentLength > maxImageBytes) {
+            throw new UploadTooLargeException(maxImageBytes);
+        }
+    }
+
+    private StoredImage store(InputStream body) throws IOException {
+        InputStream in = new BufferedInputStream(new LimitedInputStream(body, maxImageBytes));
+        in.mark(PNG_SIGNATURE.length);
+        byte[] signature = in.readNBytes(PNG_SIGNATURE.length);
+        if (!Arrays.equals(signature, PNG_SIGNATURE)) {
+            throw new IllegalArgumentException("PNG 이미지가 아닙니다.");
+        }
+        in.reset();
+
+        // 빈 캔버스 검사 한도 이하로 끝나는 작은 업로드는 메모리에서 먼저 검사하고, 빈 캔버스면 저장하지 않는다
+        int headLimit = blankDetector.getMaxBytes() + 1;
+        in.mark(headLimit);
+        byte[] head = in.readNBytes(headLimit);
+        if (head.length < headLimit) {
+            if (blankDetector.isBlankPng(head)) {
+                logger.debug("Upload of {} bytes is a blank canvas, not storing it", head.length);
+                return StoredImage.BLANK;
+            }
+            return imageStore.store(new ByteArrayInputStream(head), "image/png");
+        }
+        // 큰 업로드는 디코딩하지 않지만 캔버스보다 큰 이미지는 헤더만 보고 거절한다
+        BoundedImageReader.checkDimensions(new ByteArrayInputStream(head));
+        in.reset();
+        StoredImage image = imageStore.store(in, "image/png");
+        logger.debug("Streamed {} byte upload into image {}", image.getSize(), image.getKey());
+        return image;
+    }
+
+    // 제출물 기록에 실패하면 방금 저장한 이미지는 (다른 제출물이 참조하지 않는 한) 지운다
+    private void release(StoredImage image) {
+        if (image.isBlank()) {
+            return;
+        }
+        imageCollector.collect(List.of(image.getKey()));
+    }
+}
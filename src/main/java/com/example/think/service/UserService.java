@@ -2,6 +2,8 @@ package com.example.think.service;
 
 import com.example.think.entity.User;
 import com.example.think.repository.UserRepository;
+import com.example.think.security.PasswordHasher;
+import com.example.think.security.UserLookup;
 import com.example.think.security.UserPrincipal;
 import com.example.think.dto.UserDto;
 import com.example.think.dto.PasswordChangeDto;
@@ -10,7 +12,6 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
@@ -21,14 +22,15 @@ import org.slf4j.LoggerFactory;
 @Primary
 public class UserService implements UserDetailsService {
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final UserLookup userLookup;
     private static final Logger logger = LoggerFactory.getLogger(UserService.class);
 
     @Override
     public UserDetails loadUserByUsername(String studentId) throws UsernameNotFoundException {
         logger.debug("Loading user by studentId: {}", studentId);
         
-        User user = userRepository.findByStudentId(studentId)
+        User user = userLookup.findByStudentId(studentId)
             .orElseThrow(() -> {
                 logger.debug("User not found with studentId: {}", studentId);
                 return new UsernameNotFoundException("User not found with studentId: " + studentId);
@@ -38,7 +40,9 @@ public class UserService implements UserDetailsService {
         return UserPrincipal.create(user);
     }
 
-    public UserDto getUserInfo(User user) {
+    public UserDto getUserInfo(Long userId) {
+        User user = userRepository.findById(userId)
+            .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
         logger.debug("Converting user info to DTO for: {}", user.getStudentId());
         return convertToDto(user);
     }
@@ -61,7 +65,7 @@ public class UserService implements UserDetailsService {
             .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
 
         // 현재 비밀번호 확인
-        if (!passwordEncoder.matches(passwordChangeDto.getCurrentPassword(), user.getPassword())) {
+        if (!passwordHasher.matches(passwordChangeDto.getCurrentPassword(), user.getPassword())) {
             throw new RuntimeException("현재 비밀번호가 일치하지 않습니다.");
         }
 
@@ -71,8 +75,9 @@ public class UserService implements UserDetailsService {
         }
 
         // 새 비밀번호 암호화 및 저장
-        user.setPassword(passwordEncoder.encode(passwordChangeDto.getNewPassword()));
+        user.setPassword(passwordHasher.encode(passwordChangeDto.getNewPassword()));
         userRepository.save(user);
+        userLookup.evictAfterCommit(user);
         
         logger.info("Password changed successfully for user: {}", user.getStudentId());
     }
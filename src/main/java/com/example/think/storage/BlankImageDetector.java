@@ -0,0 +1,88 @@
+package com.example.think.storage;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * 아무것도 그리지 않은 캔버스(모든 픽셀이 투명하거나 한 가지 색)인지 판별한다.
+ * 한 가지 색으로 채운 PNG는 매우 작게 압축되므로 maxBytes보다 큰 이미지는 디코딩하지 않고 빈 이미지가 아니라고 본다.
+ */
+@Component
+public class BlankImageDetector {
+    private final int maxBytes;
+    private volatile byte[] placeholder;
+
+    @Autowired
+    public BlankImageDetector(@Value("${app.storage.blankCheckMaxBytes}") int maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * 이 크기 이하의 이미지만 메모리에 올려 검사한다.
+     */
+    public int getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * @throws ImageTooLargeException 캔버스보다 큰 이미지인 경우 (디코딩하지 않는다)
+     */
+    public boolean isBlankPng(byte[] png) {
+        if (png.length > maxBytes) {
+            return false;
+        }
+        BufferedImage image;
+        try {
+            image = BoundedImageReader.read(new ByteArrayInputStream(png));
+        } catch (ImageTooLargeException e) {
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            // 읽을 수 없는 이미지는 그대로 저장한다
+            return false;
+        }
+        return image != null && isBlank(image);
+    }
+
+    static boolean isBlank(BufferedImage image) {
+        int width = image.getWidth();
+        int[] row = new int[width];
+        int first = image.getRGB(0, 0);
+        boolean transparent = first >>> 24 == 0;
+        for (int y = 0; y < image.getHeight(); y++) {
+            image.getRGB(0, y, width, 1, row, 0, width);
+            for (int argb : row) {
+                // 완전히 투명한 픽셀은 색 값과 관계없이 같은 것으로 본다
+                if (argb != first && !(transparent && argb >>> 24 == 0)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 빈 제출물의 이미지를 요청하면 내려주는 1x1 투명 PNG.
+     */
+    public byte[] placeholderPng() {
+        byte[] png = placeholder;
+        if (png == null) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try {
+                ImageIO.write(new BufferedImage(1, 1, BufferedImage.TYPE_INT_ARGB), "png", out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            png = out.toByteArray();
+            placeholder = png;
+        }
+        return png;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.think.storage;
+
+import com.example.think.drawing.StrokeCodec;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+
+/**
+ * 헤더의 가로/세로를 먼저 확인한 뒤에만 디코딩한다.
+ * 한 색으로 채운 PNG는 수십 KB로도 수만 픽셀 크기를 적을 수 있어, ImageIO.read로 바로 읽으면 그만큼의 메모리를 할당한다.
+ * 제출 이미지는 캔버스에서 오므로 StrokeCodec.MAX_DIMENSION을 넘는 이미지는 받지 않는다.
+ */
+public final class BoundedImageReader {
+    public static final int MAX_DIMENSION = StrokeCodec.MAX_DIMENSION;
+
+    private BoundedImageReader() {
+    }
+
+    /**
+     * ImageIO.read와 같이 읽을 수 없는 형식이면 null을 돌려준다.
+     *
+     * @throws ImageTooLargeException 가로나 세로가 MAX_DIMENSION을 넘는 경우
+     */
+    public static BufferedImage read(InputStream in) throws IOException {
+        return read(in, true);
+    }
+
+    /**
+     * 헤더만 읽어 크기를 확인한다. 읽을 수 없는 형식이면 확인하지 않는다.
+     *
+     * @throws ImageTooLargeException 가로나 세로가 MAX_DIMENSION을 넘는 경우
+     */
+    public static void checkDimensions(InputStream in) throws IOException {
+        read(in, false);
+    }
+
+    private static BufferedImage read(InputStream in, boolean decode) throws IOException {
+        try (ImageInputStream stream = ImageIO.createImageInputStream(in)) {
+            Iterator<ImageReader> readers = stream == null ? null : ImageIO.getImageReaders(stream);
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(stream, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if (width > MAX_DIMENSION || height > MAX_DIMENSION) {
+                    throw new ImageTooLargeException(width, height, MAX_DIMENSION);
+                }
+                return decode ? reader.read(0) : null;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.think.storage;
+
+import lombok.Getter;
+
+import java.io.InputStream;
+import java.util.Base64;
+
+/**
+ * "data:image/png;base64,...." 형식 문자열의 헤더를 해석한다.
+ * 본문은 복사하지 않고 원본 문자열 위에서 바로 base64 디코딩한다.
+ */
+@Getter
+public class DataUrl {
+    public static final String DEFAULT_MIME_TYPE = "image/png";
+
+    private final String mimeType;
+    private final CharSequence source;
+    private final int payloadOffset;
+
+    private DataUrl(String mimeType, CharSequence source, int payloadOffset) {
+        this.mimeType = mimeType;
+        this.source = source;
+        this.payloadOffset = payloadOffset;
+    }
+
+    public static DataUrl parse(String value) {
+        if (value == null || value.isEmpty()) {
+            throw new IllegalArgumentException("이미지 데이터가 비어 있습니다.");
+        }
+        if (!value.startsWith("data:")) {
+            // 헤더 없이 base64 본문만 온 경우
+            return new DataUrl(DEFAULT_MIME_TYPE, value, 0);
+        }
+        int comma = value.indexOf(',');
+        if (comma < 0) {
+            throw new IllegalArgumentException("잘못된 data URL 형식입니다.");
+        }
+        String header = value.substring("data:".length(), comma);
+        if (!header.endsWith(";base64")) {
+            throw new IllegalArgumentException("base64 인코딩된 data URL만 지원합니다.");
+        }
+        String mimeType = header.substring(0, header.length() - ";base64".length());
+        return new DataUrl(mimeType.isEmpty() ? DEFAULT_MIME_TYPE : mimeType, value, comma + 1);
+    }
+
+    public int getPayloadLength() {
+        return source.length() - payloadOffset;
+    }
+
+    // 패딩을 뺀 base64 길이로 디코딩 결과의 크기를 계산한다
+    public long getDecodedLength() {
+        int length = getPayloadLength();
+        int padding = 0;
+        while (padding < 2 && length - padding > 0 && source.charAt(source.length() - 1 - padding) == '=') {
+            padding++;
+        }
+        return (long) length * 3 / 4 - padding;
+    }
+
+    public InputStream openDecodedStream() {
+        return Base64.getDecoder().wrap(new CharSequenceInputStream(source, payloadOffset));
+    }
+
+    private static class CharSequenceInputStream extends InputStream {
+        private final CharSequence chars;
+        private int position;
+
+        CharSequenceInputStream(CharSequence chars, int offset) {
+            this.chars = chars;
+            this.position = offset;
+        }
+
+        @Override
+        public int read() {
+            return position < chars.length() ? chars.charAt(position++) & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            int remaining = chars.length() - position;
+            if (remaining <= 0) {
+                return -1;
+            }
+            int count = Math.min(len, remaining);
+            for (int i = 0; i < count; i++) {
+                b[off + i] = (byte) chars.charAt(position++);
+            }
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return chars.length() - position;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.think.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+
+/**
+ * 로컬 디스크에 {root}/ab/cd/{sha256} 구조로 이미지를 저장한다.
+ * 임시 파일에 스트리밍으로 쓰면서 해시를 계산한 뒤, 최종 경로로 원자적으로 옮긴다.
+ */
+@Component
+public class FileSystemSubmissionImageStore implements SubmissionImageStore {
+    private static final Logger logger = LoggerFactory.getLogger(FileSystemSubmissionImageStore.class);
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{64}");
+    private static final Pattern RENDITION_PATTERN = Pattern.compile("[a-z0-9-]{1,32}");
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final Path root;
+    private final Path tmpDir;
+
+    @Autowired
+    public FileSystemSubmissionImageStore(@Value("${app.storage.submissionImageDir}") String rootDir) throws IOException {
+        this(Paths.get(rootDir));
+    }
+
+    public FileSystemSubmissionImageStore(Path root) throws IOException {
+        this.root = root.toAbsolutePath().normalize();
+        this.tmpDir = this.root.resolve("tmp");
+        Files.createDirectories(tmpDir);
+        logger.info("Submission image store initialized at {}", this.root);
+    }
+
+    @Override
+    public StoredImage store(InputStream content, String mimeType) throws IOException {
+        Path tmp = Files.createTempFile(tmpDir, "upload-", ".part");
+        try {
+            MessageDigest digest = sha256();
+            long size;
+            try (InputStream in = content;
+                 OutputStream out = new DigestOutputStream(
+                     new BufferedOutputStream(Files.newOutputStream(tmp), BUFFER_SIZE), digest)) {
+                size = in.transferTo(out);
+            }
+            String key = HexFormat.of().formatHex(digest.digest());
+            Path target = resolve(key);
+
+            if (Files.exists(target)) {
+                logger.debug("Image {} already stored, reusing existing blob", key);
+            } else {
+                Files.createDirectories(target.getParent());
+                try {
+                    Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (FileAlreadyExistsException e) {
+                    // 같은 이미지가 동시에 업로드된 경우
+                    logger.debug("Image {} stored concurrently, reusing existing blob", key);
+                }
+            }
+            return new StoredImage(key, size, mimeType);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    @Override
+    public StoredImage storeRendition(String key, String rendition, InputStream content, String mimeType) throws IOException {
+        Path target = resolve(key, rendition);
+        Path tmp = Files.createTempFile(tmpDir, "rendition-", ".part");
+        try {
+            long size;
+            try (InputStream in = content;
+                 OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmp), BUFFER_SIZE)) {
+                size = in.transferTo(out);
+            }
+            Files.createDirectories(target.getParent());
+            // 같은 원본에서 만든 결과는 항상 같으므로 동시에 만들어져도 어느 쪽이 남든 상관없다
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return new StoredImage(key, size, mimeType, rendition);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    @Override
+    public InputStream open(String key) throws IOException {
+        return Files.newInputStream(resolve(key));
+    }
+
+    @Override
+    public FileChannel openChannel(String key, String rendition) throws IOException {
+        return FileChannel.open(resolve(key, rendition), StandardOpenOption.READ);
+    }
+
+    @Override
+    public Path localPath(String key, String rendition) {
+        return resolve(key, rendition);
+    }
+
+    @Override
+    public boolean exists(String key, String rendition) {
+        return Files.exists(resolve(key, rendition));
+    }
+
+    @Override
+    public long size(String key, String rendition) throws IOException {
+        return Files.size(resolve(key, rendition));
+    }
+
+    @Override
+    public void delete(String key) throws IOException {
+        Path original = resolve(key);
+        Files.deleteIfExists(original);
+        if (!Files.isDirectory(original.getParent())) {
+            return;
+        }
+        try (DirectoryStream<Path> renditions = Files.newDirectoryStream(original.getParent(), key + ".*")) {
+            for (Path rendition : renditions) {
+                Files.deleteIfExists(rendition);
+            }
+        }
+    }
+
+    public Path resolve(String key) {
+        if (key == null || !KEY_PATTERN.matcher(key).matches()) {
+            throw new IllegalArgumentException("잘못된 이미지 키입니다: " + key);
+        }
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+    /**
+     * 파생 이미지는 원본과 같은 디렉터리에 {key}.{rendition} 이름으로 둔다.
+     */
+    public Path resolve(String key, String rendition) {
+        Path original = resolve(key);
+        if (rendition == null) {
+            return original;
+        }
+        if (!RENDITION_PATTERN.matcher(rendition).matches()) {
+            throw new IllegalArgumentException("잘못된 파생 이미지 이름입니다: " + rendition);
+        }
+        return original.resolveSibling(key + "." + rendition);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
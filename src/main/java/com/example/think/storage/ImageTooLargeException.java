@@ -0,0 +1,10 @@
+package com.example.think.storage;
+
+/**
+ * 이미지의 가로나 세로가 캔버스 크기 한도를 넘었을 때 발생한다. 제출 시에는 400으로 응답한다.
+ */
+public class ImageTooLargeException extends IllegalArgumentException {
+    public ImageTooLargeException(int width, int height, int maxDimension) {
+        super("이미지 크기가 너무 큽니다: " + width + "x" + height + " (최대 " + maxDimension + "x" + maxDimension + ")");
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.think.storage;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 최대 maxBytes까지만 읽고, 그보다 길면 본문을 끝까지 읽지 않고 UploadTooLargeException을 던진다.
+ * Content-Length가 없는 (chunked) 업로드의 크기 제한에 쓴다.
+ */
+public class LimitedInputStream extends FilterInputStream {
+    private final long maxBytes;
+    private long count;
+
+    public LimitedInputStream(InputStream in, long maxBytes) {
+        super(in);
+        this.maxBytes = maxBytes;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            consumed(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        // 한도 바로 다음 바이트까지 읽어 보면 넘었는지 알 수 있다
+        long allowed = maxBytes - count + 1;
+        int n = super.read(b, off, (int) Math.min(len, allowed));
+        if (n > 0) {
+            consumed(n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(Math.min(n, maxBytes - count + 1));
+        consumed(skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void consumed(long n) throws UploadTooLargeException {
+        count += n;
+        if (count > maxBytes) {
+            throw new UploadTooLargeException(maxBytes);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.think.storage;
+
+import lombok.Getter;
+
+@Getter
+public class StoredImage {
+    /**
+     * 빈 캔버스로 판별되어 저장하지 않은 이미지. 제출물에는 blank 표시만 남는다.
+     */
+    public static final StoredImage BLANK = new StoredImage(null, 0, null);
+
+    private final String key;
+    private final long size;
+    private final String mimeType;
+    // 원본이면 null, 원본에서 만든 파생 이미지면 그 이름 (예: "png")
+    private final String rendition;
+    // 저장소로 옮기지 않은 base64 이미지면 그 내용. 이때 key는 null이다
+    private final DataUrl inlineData;
+
+    public StoredImage(String key, long size, String mimeType) {
+        this(key, size, mimeType, null);
+    }
+
+    public StoredImage(String key, long size, String mimeType, String rendition) {
+        this.key = key;
+        this.size = size;
+        this.mimeType = mimeType;
+        this.rendition = rendition;
+        this.inlineData = null;
+    }
+
+    private StoredImage(DataUrl inlineData) {
+        this.key = null;
+        this.size = inlineData.getDecodedLength();
+        this.mimeType = inlineData.getMimeType();
+        this.rendition = null;
+        this.inlineData = inlineData;
+    }
+
+    /**
+     * 아직 저장소로 옮기지 않은 이미지 (LegacyImageBackfill 대상). 조회만 하고 옮기지 않는다.
+     */
+    public static StoredImage inline(DataUrl dataUrl) {
+        return new StoredImage(dataUrl);
+    }
+
+    public boolean isInline() {
+        return inlineData != null;
+    }
+
+    public boolean isBlank() {
+        return this == BLANK;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.think.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+/**
+ * 제출 이미지 원본(PNG 바이트)을 SHA-256 키로 저장하는 저장소.
+ * 같은 내용의 이미지는 같은 키를 받으므로 한 번만 저장된다.
+ */
+public interface SubmissionImageStore {
+
+    /**
+     * 원본 바이트 스트림을 저장하고 내용 해시 키를 돌려준다.
+     */
+    StoredImage store(InputStream content, String mimeType) throws IOException;
+
+    /**
+     * canvas.toDataURL() 형식의 base64 문자열을 디코딩하면서 저장한다.
+     */
+    default StoredImage storeDataUrl(String dataUrl) throws IOException {
+        DataUrl parsed = DataUrl.parse(dataUrl);
+        return store(parsed.openDecodedStream(), parsed.getMimeType());
+    }
+
+    /**
+     * 원본에서 만든 파생 이미지(렌더링 결과 등)를 원본 옆에 저장한다. 같은 이름이 있으면 덮어쓴다.
+     */
+    StoredImage storeRendition(String key, String rendition, InputStream content, String mimeType) throws IOException;
+
+    InputStream open(String key) throws IOException;
+
+    /**
+     * 다운로드 시 FileChannel.transferTo로 보내기 위한 읽기 전용 채널. rendition이 null이면 원본.
+     */
+    FileChannel openChannel(String key, String rendition) throws IOException;
+
+    default FileChannel openChannel(String key) throws IOException {
+        return openChannel(key, null);
+    }
+
+    /**
+     * 로컬 파일로 저장되어 있으면 그 경로. 컨테이너의 sendfile로 보낼 때 쓴다. 파일이 아니면 null.
+     */
+    default Path localPath(String key, String rendition) {
+        return null;
+    }
+
+    boolean exists(String key, String rendition);
+
+    default boolean exists(String key) {
+        return exists(key, null);
+    }
+
+    long size(String key, String rendition) throws IOException;
+
+    default long size(String key) throws IOException {
+        return size(key, null);
+    }
+
+    /**
+     * 원본과 그 파생 이미지를 모두 지운다.
+     */
+    void delete(String key) throws IOException;
+}
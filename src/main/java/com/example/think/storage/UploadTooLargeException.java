@@ -0,0 +1,12 @@
+package com.example.think.storage;
+
+import java.io.IOException;
+
+/**
+ * 업로드 본문이 허용 크기를 넘었을 때 발생한다. 413으로 응답한다.
+ */
+public class UploadTooLargeException extends IOException {
+    public UploadTooLargeException(long maxBytes) {
+        super("업로드 크기가 너무 큽니다. (최대 " + maxBytes + "바이트)");
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.think;
+
+import com.example.think.entity.Assignment;
+import com.example.think.entity.Classroom;
+import com.example.think.entity.User;
+import com.example.think.entity.UserRole;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 통합 테스트용 엔티티를 만든다 (저장은 호출하는 쪽에서 한다).
+ * 테스트 클래스들이 같은 H2 데이터베이스를 함께 쓰므로, 학번·이메일·강의실 코드는 JVM 전체에서 하나인 순번으로 겹치지 않게 만든다.
+ */
+public final class TestFixtures {
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private TestFixtures() {
+    }
+
+    public static User newUser(UserRole role) {
+        int n = SEQUENCE.incrementAndGet();
+        User user = new User();
+        user.setName("사용자" + n);
+        user.setStudentId("T" + n);
+        user.setDepartment("컴퓨터공학과");
+        user.setEmail("user" + n + "@example.com");
+        user.setPassword("{noop}password");
+        user.setPhoneNumber("010-0000-0000");
+        user.setRole(role);
+        return user;
+    }
+
+    // 생성 API가 만드는 6자리 코드와 겹치지 않도록 '-'를 넣는다
+    public static Classroom newClassroom(String name, User professor) {
+        Classroom classroom = new Classroom();
+        classroom.setName(name);
+        classroom.setClassCode("T-" + SEQUENCE.incrementAndGet());
+        classroom.setProfessor(professor);
+        return classroom;
+    }
+
+    // 제출 기한이 하루 남은 과제
+    public static Assignment newAssignment(Classroom classroom) {
+        Assignment assignment = new Assignment();
+        assignment.setTitle("그림 과제");
+        assignment.setDueDate(LocalDateTime.now().plusDays(1));
+        assignment.setClassroom(classroom);
+        return assignment;
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.think.controller;
+
+import com.example.think.entity.Assignment;
+import com.example.think.entity.AssignmentSubmission;
+import com.example.think.entity.Classroom;
+import com.example.think.entity.User;
+import com.example.think.entity.UserRole;
+import com.example.think.repository.AssignmentRepository;
+import com.example.think.repository.AssignmentSubmissionRepository;
+import com.example.think.repository.ClassroomRepository;
+import com.example.think.repository.UserRepository;
+import com.example.think.security.JwtTokenProvider;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.think.TestFixtures.newClassroom;
+import static com.example.think.TestFixtures.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 목록/상세 엔드포인트가 행 수와 관계없이 같은 수의 SQL만 실행하는지 확인한다 (N+1 회귀 방지).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ClassroomQueryCountTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ClassroomRepository classroomRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private AssignmentSubmissionRepository submissionRepository;
+
+    @Test
+    void classroomListRunsFixedNumberOfQueries() throws Exception {
+        Fixture small = seed(2);
+        Fixture large = seed(15);
+
+        long smallCount = statementsFor(small.professorToken, "/api/classroom/list");
+        long largeCount = statementsFor(large.professorToken, "/api/classroom/list");
+
+        assertThat(largeCount).isEqualTo(smallCount).isEqualTo(1);
+    }
+
+    @Test
+    void classroomDetailsRunsFixedNumberOfQueries() throws Exception {
+        Fixture small = seed(2);
+        Fixture large = seed(15);
+
+        long smallCount = statementsFor(small.professorToken, "/api/classroom/" + small.classroom.getId());
+        long largeCount = statementsFor(large.professorToken, "/api/classroom/" + large.classroom.getId());
+
+        // 접근 권한 확인 1 + 강의실 조회 1
+        assertThat(largeCount).isEqualTo(smallCount).isEqualTo(2);
+    }
+
+    @Test
+    void assignmentListRunsFixedNumberOfQueries() throws Exception {
+        Fixture small = seed(2);
+        Fixture large = seed(15);
+
+        long smallCount = statementsFor(small.professorToken,
+            "/api/classroom/" + small.classroom.getId() + "/assignments");
+        long largeCount = statementsFor(large.professorToken,
+            "/api/classroom/" + large.classroom.getId() + "/assignments");
+
+        assertThat(largeCount).isEqualTo(smallCount).isEqualTo(1);
+    }
+
+    @Test
+    void submissionListRunsFixedNumberOfQueries() throws Exception {
+        Fixture small = seed(2);
+        Fixture large = seed(15);
+
+        long smallCount = statementsFor(small.professorToken,
+            "/api/classroom/assignments/" + small.assignment.getId() + "/submissions");
+        long largeCount = statementsFor(large.professorToken,
+            "/api/classroom/assignments/" + large.assignment.getId() + "/submissions");
+
+        assertThat(largeCount).isEqualTo(smallCount).isEqualTo(2);
+    }
+
+    @Test
+    void studentCountsRunFixedNumberOfQueries() throws Exception {
+        Fixture small = seed(2);
+        Fixture large = seed(15);
+
+        long smallCount = statementsFor(small.professorToken, "/api/classroom/student-count");
+        long largeCount = statementsFor(large.professorToken, "/api/classroom/student-count");
+
+        assertThat(largeCount).isEqualTo(smallCount).isEqualTo(1);
+    }
+
+    @Test
+    void unenrolledStudentIsDeniedWithoutLoadingRoster() throws Exception {
+        Fixture fixture = seed(15);
+        User outsider = userRepository.save(newUser(UserRole.STUDENT));
+        String token = tokenProvider.generateToken(outsider);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get("/api/classroom/" + fixture.classroom.getId() + "/students")
+                .header("Authorization", "Bearer " + token))
+            .andExpect(status().isForbidden());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+
+    private long statementsFor(String token, String url) throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get(url).header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private Fixture seed(int rows) {
+        User professor = userRepository.save(newUser(UserRole.PROFESSOR));
+
+        List<User> students = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            students.add(userRepository.save(newUser(UserRole.STUDENT)));
+        }
+
+        Classroom classroom = null;
+        for (int i = 0; i < rows; i++) {
+            Classroom created = newClassroom("강의실 " + i, professor);
+            created.getStudents().addAll(students);
+            created = classroomRepository.save(created);
+            if (classroom == null) {
+                classroom = created;
+            }
+        }
+
+        Assignment assignment = null;
+        for (int i = 0; i < rows; i++) {
+            Assignment created = new Assignment();
+            created.setTitle("과제 " + i);
+            created.setDueDate(LocalDateTime.now().plusDays(7));
+            created.setClassroom(classroom);
+            created = assignmentRepository.save(created);
+            if (assignment == null) {
+                assignment = created;
+            }
+        }
+
+        for (User student : students) {
+            AssignmentSubmission submission = new AssignmentSubmission();
+            submission.setAssignment(assignment);
+            submission.setStudent(student);
+            submission.setImageKey("0".repeat(64));
+            submission.setImageSize(128L);
+            submission.setImageMimeType("image/png");
+            submissionRepository.save(submission);
+        }
+
+        return new Fixture(tokenProvider.generateToken(professor), classroom, assignment);
+    }
+
+    private static final class Fixture {
+        private final String professorToken;
+        private final Classroom classroom;
+        private final Assignment assignment;
+
+        private Fixture(String professorToken, Classroom classroom, Assignment assignment) {
+            this.professorToken = professorToken;
+            this.classroom = classroom;
+            this.assignment = assignment;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.think.controller;
+
+import com.example.think.entity.Classroom;
+import com.example.think.entity.User;
+import com.example.think.entity.UserRole;
+import com.example.think.repository.ClassroomRepository;
+import com.example.think.repository.UserRepository;
+import com.example.think.security.JwtTokenProvider;
+import com.example.think.security.UserPrincipal;
+import com.example.think.service.RosterImportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.think.TestFixtures.newClassroom;
+import static com.example.think.TestFixtures.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RosterImportTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ClassroomRepository classroomRepository;
+
+    @Autowired
+    private RosterImportService rosterImportService;
+
+    @Test
+    void importsCsvAndReportsEveryRow() throws Exception {
+        User professor = userRepository.save(newUser(UserRole.PROFESSOR));
+        Classroom classroom = newClassroom("명단 테스트", professor);
+        User enrolled = userRepository.save(newUser(UserRole.STUDENT));
+        User fresh = userRepository.save(newUser(UserRole.STUDENT));
+        classroom.getStudents().add(enrolled);
+        classroom = classroomRepository.save(classroom);
+
+        String csv = "studentId,name\n"
+            + fresh.getStudentId() + ",신입생\n"
+            + enrolled.getStudentId() + ",재학생\n"
+            + fresh.getStudentId() + ",중복\n"
+            + "NO-SUCH-ID\n"
+            + professor.getStudentId() + "\n";
+
+        mockMvc.perform(post("/api/classroom/" + classroom.getId() + "/roster:import")
+                .header("Authorization", "Bearer " + tokenProvider.generateToken(professor))
+                .contentType("text/csv")
+                .content(csv))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.total").value(5))
+            .andExpect(jsonPath("$.enrolled").value(1))
+            .andExpect(jsonPath("$.results[0].status").value("ENROLLED"))
+            .andExpect(jsonPath("$.results[1].status").value("ALREADY_ENROLLED"))
+            .andExpect(jsonPath("$.results[2].status").value("DUPLICATE"))
+            .andExpect(jsonPath("$.results[3].status").value("NOT_FOUND"))
+            .andExpect(jsonPath("$.results[4].status").value("NOT_STUDENT"));
+
+        assertThat(classroomRepository.existsByClassroomIdAndStudentId(classroom.getId(), fresh.getId())).isTrue();
+        assertThat(classroomRepository.countStudentsByClassroomId(classroom.getId())).isEqualTo(2);
+    }
+
+    @Test
+    void importsJsonArray() throws Exception {
+        User professor = userRepository.save(newUser(UserRole.PROFESSOR));
+        Classroom classroom = newClassroom("명단 테스트", professor);
+        classroom = classroomRepository.save(classroom);
+        User first = userRepository.save(newUser(UserRole.STUDENT));
+        User second = userRepository.save(newUser(UserRole.STUDENT));
+
+        String json = "[\"" + first.getStudentId() + "\", {\"studentId\": \"" + second.getStudentId() + "\"}]";
+
+        mockMvc.perform(post("/api/classroom/" + classroom.getId() + "/roster:import")
+                .header("Authorization", "Bearer " + tokenProvider.generateToken(professor))
+                .contentType("application/json")
+                .content(json))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.enrolled").value(2));
+
+        assertThat(classroomRepository.countStudentsByClassroomId(classroom.getId())).isEqualTo(2);
+    }
+
+    @Test
+    void readsBodyOutsideTransactionAndLeavesClassroomRowAlone() throws Exception {
+        User professor = userRepository.save(newUser(UserRole.PROFESSOR));
+        Classroom classroom = classroomRepository.save(newClassroom("명단 테스트", professor));
+        User student = userRepository.save(newUser(UserRole.STUDENT));
+        // 본문을 읽는 동안 트랜잭션(과 그 DB 커넥션)이 열려 있었는지 기록한다
+        List<Boolean> transactionWhileReading = new ArrayList<>();
+        InputStream body = new FilterInputStream(new ByteArrayInputStream(
+                (student.getStudentId() + "\n").getBytes(StandardCharsets.UTF_8))) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                transactionWhileReading.add(TransactionSynchronizationManager.isActualTransactionActive());
+                return super.read(b, off, len);
+            }
+        };
+
+        assertThat(rosterImportService.importRoster(classroom.getId(), body, false, UserPrincipal.create(professor))
+            .getEnrolled()).isEqualTo(1);
+
+        assertThat(transactionWhileReading).isNotEmpty().containsOnly(false);
+        // app.classroom.materializedStudentCount=false이면 저장된 수강생 수는 갱신하지 않는다
+        assertThat(classroomRepository.findById(classroom.getId()).orElseThrow().getStudentCount()).isZero();
+    }
+
+    @Test
+    void rejectsOtherProfessors() throws Exception {
+        User owner = userRepository.save(newUser(UserRole.PROFESSOR));
+        User other = userRepository.save(newUser(UserRole.PROFESSOR));
+        Classroom classroom = classroomRepository.save(newClassroom("명단 테스트", owner));
+
+        mockMvc.perform(post("/api/classroom/" + classroom.getId() + "/roster:import")
+                .header("Authorization", "Bearer " + tokenProvider.generateToken(other))
+                .contentType("text/csv")
+                .content("S1\n"))
+            .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.think.controller;
+
+import com.example.think.drawing.StrokeCodec;
+import com.example.think.drawing.StrokeDrawing;
+import com.example.think.TestFixtures;
+import com.example.think.entity.Assignment;
+import com.example.think.entity.AssignmentSubmission;
+import com.example.think.entity.Classroom;
+import com.example.think.entity.SubmissionDraft;
+import com.example.think.entity.User;
+import com.example.think.entity.UserRole;
+import com.example.think.repository.AssignmentRepository;
+import com.example.think.repository.AssignmentSubmissionRepository;
+import com.example.think.repository.ClassroomRepository;
+import com.example.think.repository.DraftDeltaRepository;
+import com.example.think.repository.SubmissionDraftRepository;
+import com.example.think.repository.UserRepository;
+import com.example.think.security.JwtTokenProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+
+import static com.example.think.TestFixtures.newClassroom;
+import static com.example.think.TestFixtures.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.draft.compactEvery=3")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SubmissionDraftTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ClassroomRepository classroomRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private AssignmentSubmissionRepository submissionRepository;
+
+    @Autowired
+    private SubmissionDraftRepository draftRepository;
+
+    @Autowired
+    private DraftDeltaRepository deltaRepository;
+
+    @Test
+    void appendsDeltasInOrderAndPromotesDraftOnSubmit() throws Exception {
+        User student = userRepository.save(newUser(UserRole.STUDENT));
+        Assignment assignment = newAssignment(student);
+        String token = tokenProvider.generateToken(student);
+        String base = "/api/classroom/assignments/" + assignment.getId() + "/draft";
+
+        for (int seq = 1; seq <= 5; seq++) {
+            append(token, base, seq, false, dot(seq))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lastSeq").value(seq));
+        }
+
+        // 응답을 받지 못해 같은 변경분을 다시 보낸 경우
+        append(token, base, 5, false, dot(5)).andExpect(status().isOk()).andExpect(jsonPath("$.lastSeq").value(5));
+        // 같은 순번에 다른 내용, 건너뛴 순번
+        append(token, base, 5, false, dot(99)).andExpect(status().isConflict()).andExpect(jsonPath("$.lastSeq").value(5));
+        append(token, base, 7, false, dot(7)).andExpect(status().isConflict()).andExpect(jsonPath("$.lastSeq").value(5));
+        // 스냅샷으로 합쳐진 순번은 같은 내용이라도 확인할 수 없으므로 충돌
+        append(token, base, 3, false, dot(3)).andExpect(status().isConflict()).andExpect(jsonPath("$.lastSeq").value(5));
+
+        SubmissionDraft draft = draftRepository.findByAssignmentIdAndStudentId(assignment.getId(), student.getId()).orElseThrow();
+        assertThat(draft.getSnapshotSeq()).isEqualTo(3);
+        assertThat(deltaRepository.countByDraftId(draft.getId())).isEqualTo(2);
+        assertThat(draftStrokes(token, base).getStrokes()).hasSize(5);
+
+        // 캔버스를 지운 뒤 다시 그린 경우
+        append(token, base, 6, true, dot(6)).andExpect(status().isOk());
+        assertThat(draftStrokes(token, base).getStrokes()).hasSize(1);
+
+        mockMvc.perform(post(base + "/submit").header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk());
+
+        AssignmentSubmission submission = submissionRepository
+            .findByAssignment_IdAndStudent_Id(assignment.getId(), student.getId()).orElseThrow();
+        assertThat(submission.getImageMimeType()).isEqualTo(StrokeDrawing.MEDIA_TYPE);
+        assertThat(draftRepository.findById(draft.getId())).isEmpty();
+        assertThat(deltaRepository.countByDraftId(draft.getId())).isZero();
+
+        mockMvc.perform(get("/api/classroom/submissions/" + submission.getId() + "/image")
+                .header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("image/png"));
+    }
+
+    @Test
+    void rejectsStudentsOutsideClassroom() throws Exception {
+        User student = userRepository.save(newUser(UserRole.STUDENT));
+        User outsider = userRepository.save(newUser(UserRole.STUDENT));
+        Assignment assignment = newAssignment(student);
+
+        append(tokenProvider.generateToken(outsider), "/api/classroom/assignments/" + assignment.getId() + "/draft",
+            1, false, dot(1))
+            .andExpect(status().isForbidden());
+    }
+
+    private ResultActions append(String token, String base, long seq, boolean reset, byte[] strokes) throws Exception {
+        return mockMvc.perform(put(base + "/deltas/" + seq)
+            .param("reset", String.valueOf(reset))
+            .header("Authorization", "Bearer " + token)
+            .contentType(StrokeDrawing.MEDIA_TYPE)
+            .content(strokes));
+    }
+
+    private StrokeDrawing draftStrokes(String token, String base) throws Exception {
+        byte[] body = mockMvc.perform(get(base + "/strokes").header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsByteArray();
+        return StrokeCodec.decode(body);
+    }
+
+    private static byte[] dot(int n) {
+        StrokeDrawing.Stroke stroke = new StrokeDrawing.Stroke(0xFF000000, 20,
+            new int[]{n * 40}, new int[]{n * 40}, new int[]{255});
+        return StrokeCodec.encode(new StrokeDrawing(800, 600, List.of(stroke)));
+    }
+
+    private Assignment newAssignment(User student) {
+        User professor = userRepository.save(newUser(UserRole.PROFESSOR));
+        Classroom classroom = newClassroom("임시 저장 테스트", professor);
+        classroom.getStudents().add(student);
+        classroom = classroomRepository.save(classroom);
+        return assignmentRepository.save(TestFixtures.newAssignment(classroom));
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.think.controller;
+
+import com.example.think.TestFixtures;
+import com.example.think.entity.Assignment;
+import com.example.think.entity.AssignmentSubmission;
+import com.example.think.entity.Classroom;
+import com.example.think.entity.LegacySubmissionImage;
+import com.example.think.entity.User;
+import com.example.think.entity.UserRole;
+import com.example.think.repository.AssignmentRepository;
+import com.example.think.repository.AssignmentSubmissionRepository;
+import com.example.think.repository.ClassroomRepository;
+import com.example.think.repository.LegacySubmissionImageRepository;
+import com.example.think.repository.UserRepository;
+import com.example.think.security.JwtTokenProvider;
+import com.example.think.storage.SubmissionImageStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Arrays;
+import java.util.Base64;
+
+import static com.example.think.TestFixtures.newClassroom;
+import static com.example.think.TestFixtures.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SubmissionImageDownloadTests {
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'};
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ClassroomRepository classroomRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private AssignmentSubmissionRepository submissionRepository;
+
+    @Autowired
+    private LegacySubmissionImageRepository legacyImageRepository;
+
+    @Autowired
+    private SubmissionImageStore imageStore;
+
+    private byte[] png;
+    private String token;
+    private String url;
+    private String etag;
+    private String imageKey;
+    private Long submissionId;
+
+    @BeforeEach
+    void submitImage() throws Exception {
+        User student = userRepository.save(newUser(UserRole.STUDENT));
+        User professor = userRepository.save(newUser(UserRole.PROFESSOR));
+        Classroom classroom = classroomRepository.save(newClassroom("다운로드 테스트", professor));
+        Assignment assignment = assignmentRepository.save(TestFixtures.newAssignment(classroom));
+        token = tokenProvider.generateToken(student);
+        // 내용마다 키가 다르도록 제출물마다 다른 바이트를 쓴다
+        png = new byte[1000];
+        Arrays.fill(png, (byte) student.getId().intValue());
+        System.arraycopy(PNG_SIGNATURE, 0, png, 0, PNG_SIGNATURE.length);
+
+        mockMvc.perform(post("/api/classroom/assignments/" + assignment.getId() + "/submit")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.IMAGE_PNG)
+                .content(png))
+            .andExpect(status().isOk());
+
+        AssignmentSubmission submission = submissionRepository
+            .findByAssignment_IdAndStudent_Id(assignment.getId(), student.getId()).orElseThrow();
+        imageKey = submission.getImageKey();
+        submissionId = submission.getId();
+        url = "/api/classroom/submissions/" + submission.getId() + "/image";
+        etag = "\"" + imageKey + "\"";
+    }
+
+    @Test
+    void servesWholeImageWithStrongETag() throws Exception {
+        mockMvc.perform(get(url).header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+            .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, png.length))
+            .andExpect(content().bytes(png));
+
+        mockMvc.perform(get(url + "?v=" + imageKey).header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, private, immutable"));
+    }
+
+    @Test
+    void answersNotModifiedForMatchingETag() throws Exception {
+        mockMvc.perform(get(url)
+                .header("Authorization", "Bearer " + token)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"other\", " + etag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string(HttpHeaders.ETAG, etag))
+            .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void servesRequestedRange() throws Exception {
+        mockMvc.perform(get(url)
+                .header("Authorization", "Bearer " + token)
+                .header(HttpHeaders.RANGE, "bytes=100-199"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 100-199/" + png.length))
+            .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 100))
+            .andExpect(content().bytes(Arrays.copyOfRange(png, 100, 200)));
+
+        mockMvc.perform(get(url)
+                .header("Authorization", "Bearer " + token)
+                .header(HttpHeaders.RANGE, "bytes=-10"))
+            .andExpect(status().isPartialContent())
+            .andExpect(content().bytes(Arrays.copyOfRange(png, png.length - 10, png.length)));
+    }
+
+    @Test
+    void rejectsUnsatisfiableRange() throws Exception {
+        mockMvc.perform(get(url)
+                .header("Authorization", "Bearer " + token)
+                .header(HttpHeaders.RANGE, "bytes=5000-6000"))
+            .andExpect(status().isRequestedRangeNotSatisfiable())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + png.length));
+    }
+
+    @Test
+    void ifRangeServesRangeOnlyForCurrentETag() throws Exception {
+        mockMvc.perform(get(url)
+                .header("Authorization", "Bearer " + token)
+                .header(HttpHeaders.RANGE, "bytes=0-9")
+                .header(HttpHeaders.IF_RANGE, etag))
+            .andExpect(status().isPartialContent())
+            .andExpect(content().bytes(Arrays.copyOfRange(png, 0, 10)));
+
+        // 클라이언트가 가진 구간이 옛 내용이면 전체를 새로 보낸다
+        mockMvc.perform(get(url)
+                .header("Authorization", "Bearer " + token)
+                .header(HttpHeaders.RANGE, "bytes=0-9")
+                .header(HttpHeaders.IF_RANGE, "\"stale\""))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.CONTENT_RANGE))
+            .andExpect(content().bytes(png));
+    }
+
+    @Test
+    void answersNotFoundWhenBlobIsGone() throws Exception {
+        imageStore.delete(imageKey);
+
+        mockMvc.perform(get(url).header("Authorization", "Bearer " + token))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void streamsLegacyImageWithoutMigratingIt() throws Exception {
+        AssignmentSubmission submission = submissionRepository.findById(submissionId).orElseThrow();
+        submission.setImageKey(null);
+        submission.setImageSize(null);
+        submission.setImageMimeType(null);
+        submissionRepository.save(submission);
+        LegacySubmissionImage legacy = new LegacySubmissionImage();
+        legacy.setId(submission.getId());
+        legacy.setImageData("data:image/png;base64," + Base64.getEncoder().encodeToString(png));
+        legacyImageRepository.save(legacy);
+
+        mockMvc.perform(get(url)
+                .header("Authorization", "Bearer " + token)
+                .header(HttpHeaders.RANGE, "bytes=0-9"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+            .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, png.length))
+            .andExpect(content().contentType(MediaType.IMAGE_PNG))
+            .andExpect(content().bytes(png));
+
+        assertThat(submissionRepository.findById(submission.getId()).orElseThrow().getImageKey()).isNull();
+        assertThat(legacyImageRepository.findById(submission.getId()).orElseThrow().getImageData()).isNotNull();
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.think.controller;
+
+import com.example.think.TestFixtures;
+import com.example.think.entity.Assignment;
+import com.example.think.entity.AssignmentSubmission;
+import com.example.think.entity.Classroom;
+import com.example.think.entity.User;
+import com.example.think.entity.UserRole;
+import com.example.think.repository.AssignmentRepository;
+import com.example.think.repository.AssignmentSubmissionRepository;
+import com.example.think.repository.ClassroomRepository;
+import com.example.think.repository.UserRepository;
+import com.example.think.security.JwtTokenProvider;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import static com.example.think.TestFixtures.newClassroom;
+import static com.example.think.TestFixtures.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.storage.maxImageBytes=1024")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SubmissionUploadTests {
+
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'};
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ClassroomRepository classroomRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private AssignmentSubmissionRepository submissionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void storesRawPngBodyAndServesItBack() throws Exception {
+        User student = userRepository.save(newUser(UserRole.STUDENT));
+        Assignment assignment = newAssignment();
+        String token = tokenProvider.generateToken(student);
+        byte[] png = png(500);
+
+        mockMvc.perform(post("/api/classroom/assignments/" + assignment.getId() + "/submit")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.IMAGE_PNG)
+                .content(png))
+            .andExpect(status().isOk());
+
+        AssignmentSubmission submission = submissionRepository
+            .findByAssignment_IdAndStudent_Id(assignment.getId(), student.getId()).orElseThrow();
+        assertThat(submission.getImageSize()).isEqualTo(png.length);
+
+        mockMvc.perform(get("/api/classroom/submissions/" + submission.getId() + "/image")
+                .header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk())
+            .andExpect(content().bytes(png));
+
+        // 같은 제출물을 multipart로 수정
+        byte[] updated = png(600);
+        mockMvc.perform(multipart("/api/classroom/submissions/" + submission.getId())
+                .file(new MockMultipartFile("image", "drawing.png", MediaType.IMAGE_PNG_VALUE, updated))
+                .with(request -> {
+                    request.setMethod("PUT");
+                    return request;
+                })
+                .header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk());
+        assertThat(submissionRepository.findById(submission.getId()).orElseThrow().getImageSize())
+            .isEqualTo(updated.length);
+    }
+
+    @Test
+    void readsUploadBodyWithoutHoldingEntityManager() throws Exception {
+        User student = userRepository.save(newUser(UserRole.STUDENT));
+        Assignment assignment = newAssignment();
+        String token = tokenProvider.generateToken(student);
+        // 본문을 읽는 동안 요청에 EntityManager(와 그 DB 커넥션)가 묶여 있었는지 기록한다
+        List<Boolean> boundWhileReading = new ArrayList<>();
+        MockMultipartFile image = new MockMultipartFile("image", "drawing.png", MediaType.IMAGE_PNG_VALUE, png(500)) {
+            @Override
+            public InputStream getInputStream() {
+                return new FilterInputStream(new ByteArrayInputStream(png(500))) {
+                    @Override
+                    public int read(byte[] b, int off, int len) throws IOException {
+                        boundWhileReading.add(TransactionSynchronizationManager.hasResource(entityManagerFactory));
+                        return super.read(b, off, len);
+                    }
+                };
+            }
+        };
+
+        mockMvc.perform(multipart("/api/classroom/assignments/" + assignment.getId() + "/submit")
+                .file(image)
+                .header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.assignmentId").value(assignment.getId()))
+            .andExpect(jsonPath("$.imageSize").value(500));
+
+        assertThat(boundWhileReading).isNotEmpty().containsOnly(false);
+    }
+
+    @Test
+    void rejectsOversizedAndNonPngUploads() throws Exception {
+        User student = userRepository.save(newUser(UserRole.STUDENT));
+        Assignment assignment = newAssignment();
+        String token = tokenProvider.generateToken(student);
+
+        mockMvc.perform(post("/api/classroom/assignments/" + assignment.getId() + "/submit")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.IMAGE_PNG)
+                .content(png(2048)))
+            .andExpect(status().isPayloadTooLarge());
+
+        mockMvc.perform(post("/api/classroom/assignments/" + assignment.getId() + "/submit")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.IMAGE_PNG)
+                .content("not a png".getBytes()))
+            .andExpect(status().isBadRequest());
+
+        assertThat(submissionRepository.findByAssignment_IdAndStudent_Id(assignment.getId(), student.getId())).isEmpty();
+    }
+
+    @Test
+    void rejectsImagesLargerThanCanvasBeforeDecoding() throws Exception {
+        User student = userRepository.save(newUser(UserRole.STUDENT));
+        Assignment assignment = newAssignment();
+        String token = tokenProvider.generateToken(student);
+        // 수백 바이트짜리 PNG지만 헤더에는 캔버스보다 큰 크기가 적혀 있다
+        BufferedImage huge = new BufferedImage(2000, 2000, BufferedImage.TYPE_BYTE_BINARY);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(huge, "png", out);
+        byte[] png = out.toByteArray();
+        assertThat(png.length).isLessThan(1024);
+
+        mockMvc.perform(post("/api/classroom/assignments/" + assignment.getId() + "/submit")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.IMAGE_PNG)
+                .content(png))
+            .andExpect(status().isBadRequest());
+
+        mockMvc.perform(post("/api/classroom/assignments/" + assignment.getId() + "/submit")
+                .header("Authorization", "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"imageData\": \"data:image/png;base64," + Base64.getEncoder().encodeToString(png) + "\"}"))
+            .andExpect(status().isBadRequest());
+
+        assertThat(submissionRepository.findByAssignment_IdAndStudent_Id(assignment.getId(), student.getId())).isEmpty();
+    }
+
+    private static byte[] png(int size) {
+        byte[] bytes = new byte[size];
+        Arrays.fill(bytes, (byte) size);
+        System.arraycopy(PNG_SIGNATURE, 0, bytes, 0, PNG_SIGNATURE.length);
+        return bytes;
+    }
+
+    private Assignment newAssignment() {
+        User professor = userRepository.save(newUser(UserRole.PROFESSOR));
+        Classroom classroom = classroomRepository.save(newClassroom("업로드 테스트", professor));
+        return assignmentRepository.save(TestFixtures.newAssignment(classroom));
+    }
+}
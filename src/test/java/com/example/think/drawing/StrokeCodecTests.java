@@ -0,0 +1,122 @@
+package com.example.think.drawing;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.imageio.ImageIO;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StrokeCodecTests {
+
+    @Test
+    void roundTripsStrokes() {
+        StrokeDrawing drawing = new StrokeDrawing(800, 600, List.of(
+            line(0xFF112233, 20, 10, 10, 300, 10, 50),
+            new StrokeDrawing.Stroke(0x80FF0000, 8, new int[]{-4, 5}, new int[]{3, 3_000}, new int[]{0, 255})));
+
+        StrokeDrawing decoded = StrokeCodec.decode(StrokeCodec.encode(drawing));
+
+        assertThat(decoded.getWidth()).isEqualTo(800);
+        assertThat(decoded.getHeight()).isEqualTo(600);
+        assertThat(decoded.getStrokes()).hasSize(2);
+        for (int i = 0; i < 2; i++) {
+            StrokeDrawing.Stroke expected = drawing.getStrokes().get(i);
+            StrokeDrawing.Stroke actual = decoded.getStrokes().get(i);
+            assertThat(actual.getColor()).isEqualTo(expected.getColor());
+            assertThat(actual.getWidth()).isEqualTo(expected.getWidth());
+            assertThat(actual.getXs()).isEqualTo(expected.getXs());
+            assertThat(actual.getYs()).isEqualTo(expected.getYs());
+            assertThat(actual.getPressures()).isEqualTo(expected.getPressures());
+        }
+    }
+
+    @Test
+    void typicalDrawingFitsInAFewKilobytes() {
+        List<StrokeDrawing.Stroke> strokes = new ArrayList<>();
+        for (int s = 0; s < 20; s++) {
+            strokes.add(line(0xFF000000, 20, 40 * s, 100, 40 * s + 200, 500, 100));
+        }
+
+        byte[] encoded = StrokeCodec.encode(new StrokeDrawing(800, 600, strokes));
+
+        assertThat(encoded.length).isLessThan(8 * 1024);
+    }
+
+    @Test
+    void rejectsNegativeCountsFromFiveByteVarints() {
+        // 0xFF 0xFF 0xFF 0xFF 0x0F는 -1로 읽힌다
+        byte[] negative = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F};
+        byte[] header = {'T', 'S', 'K', 1, (byte) 0xA0, 0x06, (byte) 0xD8, 0x04};
+
+        ByteArrayOutputStream strokeCount = new ByteArrayOutputStream();
+        strokeCount.writeBytes(header);
+        strokeCount.writeBytes(negative);
+        assertThatThrownBy(() -> StrokeCodec.decode(strokeCount.toByteArray()))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("획 개수");
+
+        ByteArrayOutputStream pointCount = new ByteArrayOutputStream();
+        pointCount.writeBytes(header);
+        pointCount.write(1);
+        pointCount.writeBytes(new byte[]{(byte) 0xFF, 0, 0, 0});
+        pointCount.write(4);
+        pointCount.writeBytes(negative);
+        assertThatThrownBy(() -> StrokeCodec.decode(pointCount.toByteArray()))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("점 개수");
+
+        ByteArrayOutputStream width = new ByteArrayOutputStream();
+        width.writeBytes(new byte[]{'T', 'S', 'K', 1});
+        width.writeBytes(negative);
+        width.writeBytes(new byte[]{(byte) 0xD8, 0x04, 0});
+        assertThatThrownBy(() -> StrokeCodec.decode(width.toByteArray()))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("캔버스 크기");
+    }
+
+    @Test
+    void rejectsTruncatedOrOversizedData() {
+        byte[] encoded = StrokeCodec.encode(new StrokeDrawing(800, 600, List.of(line(0xFF000000, 4, 0, 0, 40, 40, 5))));
+
+        assertThatThrownBy(() -> StrokeCodec.decode(Arrays.copyOf(encoded, encoded.length - 1)))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> StrokeCodec.decode(StrokeCodec.encode(new StrokeDrawing(10_000, 600, List.of()))))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> StrokeCodec.decode("data:image/png;base64,".getBytes()))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rasterizesOnTransparentCanvas() throws Exception {
+        // (10,10)-(100,10) 픽셀에 굵기 5px의 빨간 선
+        StrokeDrawing drawing = new StrokeDrawing(200, 100, List.of(
+            line(0xFFFF0000, 20, 40, 40, 400, 40, 10)));
+
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        StrokeRasterizer.writePng(drawing, png);
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png.toByteArray()));
+
+        assertThat(image.getWidth()).isEqualTo(200);
+        assertThat(image.getRGB(50, 10)).isEqualTo(0xFFFF0000);
+        assertThat(image.getRGB(150, 50) >>> 24).isZero();
+    }
+
+    private static StrokeDrawing.Stroke line(int color, int width, int x0, int y0, int x1, int y1, int points) {
+        int[] xs = new int[points];
+        int[] ys = new int[points];
+        int[] pressures = new int[points];
+        for (int i = 0; i < points; i++) {
+            xs[i] = x0 + (x1 - x0) * i / Math.max(1, points - 1);
+            ys[i] = y0 + (y1 - y0) * i / Math.max(1, points - 1);
+            pressures[i] = 255;
+        }
+        return new StrokeDrawing.Stroke(color, width, xs, ys, pressures);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.think.pagination;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorTests {
+
+    @Test
+    void roundTripsTimestampAndId() {
+        Cursor cursor = new Cursor(LocalDateTime.of(2024, 12, 18, 9, 40, 27, 123_000_000), 42L);
+
+        Cursor decoded = Cursor.decode(cursor.encode());
+
+        assertThat(decoded.getTimestamp()).isEqualTo(cursor.getTimestamp());
+        assertThat(decoded.getId()).isEqualTo(42L);
+    }
+
+    @Test
+    void missingCursorStartsFromBeginning() {
+        assertThat(Cursor.decode(null)).isSameAs(Cursor.START);
+        assertThat(Cursor.decode("")).isSameAs(Cursor.START);
+    }
+
+    @Test
+    void rejectsTamperedCursor() {
+        assertThatThrownBy(() -> Cursor.decode("bm90LWEtY3Vyc29y"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
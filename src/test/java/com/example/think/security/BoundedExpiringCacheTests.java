@@ -0,0 +1,45 @@
+package com.example.think.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundedExpiringCacheTests {
+
+    @Test
+    void evictsLeastRecentlyUsedEntryWhenFull() {
+        BoundedExpiringCache<String, Integer> cache = new BoundedExpiringCache<>(2);
+        cache.put("a", 1, 10_000);
+        cache.put("b", 2, 10_000);
+        cache.get("a", 1_000);
+
+        cache.put("c", 3, 10_000);
+
+        assertThat(cache.get("a", 1_000)).isEqualTo(1);
+        assertThat(cache.get("b", 1_000)).isNull();
+        assertThat(cache.get("c", 1_000)).isEqualTo(3);
+    }
+
+    @Test
+    void expiredEntriesAreDroppedOnReadAndBySweep() {
+        BoundedExpiringCache<String, Integer> cache = new BoundedExpiringCache<>(10);
+        cache.put("a", 1, 2_000);
+        cache.put("b", 2, 3_000);
+
+        assertThat(cache.get("a", 2_000)).isNull();
+        assertThat(cache.evictExpired(3_000)).isEqualTo(1);
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void segmentedCacheNeverExceedsMaxEntries() {
+        BoundedExpiringCache<Integer, Integer> cache = new BoundedExpiringCache<>(100_000);
+        for (int i = 0; i < 150_000; i++) {
+            cache.put(i, i, Long.MAX_VALUE);
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(100_000);
+        assertThat(cache.get(149_999, 0)).isEqualTo(149_999);
+        assertThat(cache.invalidateIf(key -> key >= 149_000)).isEqualTo(1_000);
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.think.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MembershipCacheTests {
+
+    @Test
+    void entriesExpireAfterTtl() {
+        MembershipCache cache = new MembershipCache(1_000, 10);
+        cache.put(1L, 2L, true, 1_000);
+
+        assertThat(cache.get(1L, 2L, 1_999)).isTrue();
+        assertThat(cache.get(1L, 2L, 2_000)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void deniedResultsAreCachedUntilInvalidated() {
+        MembershipCache cache = new MembershipCache(1_000, 10);
+        cache.put(1L, 2L, false, 1_000);
+        assertThat(cache.get(1L, 2L, 1_000)).isFalse();
+
+        cache.invalidate(1L, 2L);
+
+        assertThat(cache.get(1L, 2L, 1_000)).isNull();
+    }
+
+    @Test
+    void invalidateClassroomRemovesEveryMember() {
+        MembershipCache cache = new MembershipCache(1_000, 10);
+        cache.put(1L, 2L, true, 1_000);
+        cache.put(1L, 3L, true, 1_000);
+        cache.put(4L, 2L, true, 1_000);
+
+        cache.invalidateClassroom(1L);
+
+        assertThat(cache.get(1L, 2L, 1_000)).isNull();
+        assertThat(cache.get(1L, 3L, 1_000)).isNull();
+        assertThat(cache.get(4L, 2L, 1_000)).isTrue();
+    }
+
+    @Test
+    void fullCacheOfLiveEntriesKeepsCachingNewLookups() {
+        MembershipCache cache = new MembershipCache(60_000, 2);
+        cache.put(1L, 1L, true, 1_000);
+        cache.put(1L, 2L, true, 1_000);
+
+        cache.put(1L, 3L, false, 1_000);
+
+        assertThat(cache.get(1L, 3L, 1_000)).isFalse();
+        assertThat(cache.get(1L, 1L, 1_000)).isNull();
+        assertThat(cache.size()).isEqualTo(2);
+    }
+}
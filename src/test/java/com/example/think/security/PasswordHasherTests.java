@@ -0,0 +1,76 @@
+package com.example.think.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHasherTests {
+
+    @Test
+    void rejectsImmediatelyWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        PasswordEncoder blocking = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hash";
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return true;
+            }
+        };
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PasswordHasher hasher = new PasswordHasher(blocking, registry, 10, 1, 1, 5_000);
+        try {
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hasher.encode("a"));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hasher.encode("b"));
+            while (registry.get("think.password.queue.depth").gauge().value() < 1) {
+                Thread.sleep(5);
+            }
+
+            assertThatThrownBy(() -> hasher.encode("c"))
+                .isInstanceOf(PasswordHashingBusyException.class);
+            assertThat(registry.get("think.password.rejected").counter().count()).isEqualTo(1);
+
+            release.countDown();
+            assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash");
+            assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hash");
+        } finally {
+            release.countDown();
+            hasher.shutdown();
+        }
+    }
+
+    @Test
+    void detectsHashesWithOutdatedCost() {
+        PasswordHasher hasher = new PasswordHasher(new BCryptPasswordEncoder(4), new SimpleMeterRegistry(), 4, 1, 4, 5_000);
+        try {
+            String current = hasher.encode("secret");
+            String outdated = new BCryptPasswordEncoder(5).encode("secret");
+
+            assertThat(hasher.matches("secret", current)).isTrue();
+            assertThat(hasher.needsRehash(current)).isFalse();
+            assertThat(hasher.needsRehash(outdated)).isTrue();
+            assertThat(hasher.needsRehash("not-bcrypt")).isFalse();
+        } finally {
+            hasher.shutdown();
+        }
+    }
+}
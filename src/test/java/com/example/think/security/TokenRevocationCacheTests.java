@@ -0,0 +1,63 @@
+package com.example.think.security;
+
+import com.example.think.entity.BlacklistedToken;
+import com.example.think.repository.BlacklistedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TokenRevocationCacheTests {
+
+    private BlacklistedTokenRepository repository;
+    private TokenRevocationCache cache;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(BlacklistedTokenRepository.class);
+        cache = new TokenRevocationCache(repository, 1000, 0.01, 60);
+    }
+
+    @Test
+    void revokedTokenIsDetectedWithoutDatabase() {
+        when(repository.findByExpiryDateAfter(any())).thenReturn(List.of());
+        cache.warmUp();
+
+        cache.revoke(TokenDigest.of("revoked.jwt.token"), LocalDateTime.now().plusHours(1));
+
+        assertThat(cache.isRevoked("revoked.jwt.token")).isTrue();
+        assertThat(cache.isRevoked("other.jwt.token")).isFalse();
+    }
+
+    @Test
+    void warmUpHashesLegacyRawTokens() {
+        BlacklistedToken legacy = new BlacklistedToken();
+        legacy.setTokenHash("legacy.raw.jwt");
+        legacy.setBlacklistedAt(LocalDateTime.now());
+        legacy.setExpiryDate(LocalDateTime.now().plusHours(1));
+        when(repository.findByExpiryDateAfter(any())).thenReturn(List.of(legacy));
+
+        cache.warmUp();
+
+        assertThat(legacy.getTokenHash()).isEqualTo(TokenDigest.of("legacy.raw.jwt"));
+        assertThat(cache.isRevoked("legacy.raw.jwt")).isTrue();
+    }
+
+    @Test
+    void expiredBucketsAreEvictedOnRefresh() {
+        when(repository.findByExpiryDateAfter(any())).thenReturn(List.of());
+        when(repository.findByBlacklistedAtAfter(any())).thenReturn(List.of());
+        cache.warmUp();
+        cache.revoke(TokenDigest.of("expired.jwt.token"), LocalDateTime.now().minusHours(2));
+
+        cache.refresh();
+
+        assertThat(cache.isRevoked("expired.jwt.token")).isFalse();
+    }
+}
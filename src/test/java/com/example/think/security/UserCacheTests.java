@@ -0,0 +1,78 @@
+package com.example.think.security;
+
+import com.example.think.entity.User;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserCacheTests {
+
+    @Test
+    void unknownStudentIdsExpireSoonerThanKnownUsers() {
+        UserCache cache = new UserCache(1_000, 100, 10);
+        cache.putStudentId("20240001", user("20240001", "a@example.com"), 1_000);
+        cache.putStudentId("missing", null, 1_000);
+
+        assertThat(cache.getByStudentId("missing", 1_050).getUser()).isNull();
+        assertThat(cache.getByStudentId("missing", 1_100)).isNull();
+        assertThat(cache.getByStudentId("20240001", 1_999).getUser().getEmail()).isEqualTo("a@example.com");
+        assertThat(cache.getByStudentId("20240001", 2_000)).isNull();
+    }
+
+    @Test
+    void returnedUsersAreCopies() {
+        UserCache cache = new UserCache(1_000, 100, 10);
+        cache.putStudentId("20240001", user("20240001", "a@example.com"), 1_000);
+
+        cache.getByStudentId("20240001", 1_000).getUser().setEmail("changed@example.com");
+
+        assertThat(cache.getByStudentId("20240001", 1_000).getUser().getEmail()).isEqualTo("a@example.com");
+    }
+
+    @Test
+    void passwordHashIsNotCached() {
+        UserCache cache = new UserCache(1_000, 100, 10);
+        cache.putStudentId("20240001", user("20240001", "a@example.com"), 1_000);
+
+        assertThat(cache.getByStudentId("20240001", 1_000).getUser().getPassword()).isNull();
+    }
+
+    @Test
+    void invalidateRemovesNegativeEntriesOnSignup() {
+        UserCache cache = new UserCache(1_000, 100, 10);
+        cache.putStudentId("20240001", null, 1_000);
+        cache.putEmailExists("A@Example.com", false, 1_000);
+        assertThat(cache.getEmailExists("a@example.com", 1_000)).isFalse();
+
+        cache.invalidate("20240001", "a@example.com");
+
+        assertThat(cache.getByStudentId("20240001", 1_000)).isNull();
+        assertThat(cache.getEmailExists("A@Example.com", 1_000)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void burstOfUnknownIdsEvictsOldEntriesInsteadOfBlockingNewOnes() {
+        UserCache cache = new UserCache(60_000, 10_000, 100);
+        cache.putStudentId("20240001", user("20240001", "a@example.com"), 1_000);
+        for (int i = 0; i < 1_000; i++) {
+            cache.putStudentId("guess-" + i, null, 1_000);
+        }
+
+        cache.putStudentId("20240001", user("20240001", "a@example.com"), 1_000);
+
+        assertThat(cache.getByStudentId("20240001", 1_000).getUser()).isNotNull();
+        assertThat(cache.getByStudentId("guess-999", 1_000)).isNotNull();
+        assertThat(cache.getByStudentId("guess-0", 1_000)).isNull();
+        assertThat(cache.size()).isLessThanOrEqualTo(100);
+    }
+
+    private static User user(String studentId, String email) {
+        User user = new User();
+        user.setId(1L);
+        user.setStudentId(studentId);
+        user.setEmail(email);
+        user.setPassword("hash");
+        return user;
+    }
+}
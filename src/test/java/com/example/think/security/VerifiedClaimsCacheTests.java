@@ -0,0 +1,62 @@
+package com.example.think.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerifiedClaimsCacheTests {
+
+    private static Claims claimsExpiringAt(long epochMillis) {
+        return Jwts.claims().setSubject("20240001").setExpiration(new Date(epochMillis));
+    }
+
+    @Test
+    void entriesExpireAtTokenExpiration() {
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(10);
+        cache.put("a", claimsExpiringAt(2_000), 1_000);
+
+        assertThat(cache.get("a", 1_999)).isNotNull();
+        assertThat(cache.get("a", 2_000)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void fullCacheOfLiveEntriesDropsLeastRecentlyUsedToken() {
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(2);
+        cache.put("a", claimsExpiringAt(10_000), 1_000);
+        cache.put("b", claimsExpiringAt(10_000), 1_000);
+        assertThat(cache.get("a", 1_500)).isNotNull();
+
+        cache.put("c", claimsExpiringAt(10_000), 2_000);
+
+        assertThat(cache.get("c", 2_000)).isNotNull();
+        assertThat(cache.get("a", 2_000)).isNotNull();
+        assertThat(cache.get("b", 2_000)).isNull();
+        assertThat(cache.size()).isEqualTo(2);
+    }
+
+    @Test
+    void largeCacheStaysBoundedWhenFullOfLiveEntries() {
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(50_000);
+        for (int i = 0; i < 60_000; i++) {
+            cache.put("token-" + i, claimsExpiringAt(86_400_000), 1_000);
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(50_000);
+        assertThat(cache.get("token-59999", 2_000)).isNotNull();
+    }
+
+    @Test
+    void invalidateRemovesEntry() {
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(10);
+        cache.put("a", claimsExpiringAt(2_000), 1_000);
+
+        cache.invalidate("a");
+
+        assertThat(cache.get("a", 1_000)).isNull();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.think.service;
+
+import com.example.think.entity.BlacklistedToken;
+import com.example.think.repository.BlacklistedTokenRepository;
+import com.example.think.security.TokenDigest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.revocation.sweepBatchSize=2")
+@ActiveProfiles("test")
+class BlacklistedTokenSweeperTests {
+
+    @Autowired
+    private BlacklistedTokenSweeper sweeper;
+
+    @Autowired
+    private BlacklistedTokenRepository repository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void purgesOnlyExpiredTokensInBatches() {
+        LocalDateTime now = LocalDateTime.now();
+        List<BlacklistedToken> expired = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            expired.add(repository.save(token("sweeper-expired-" + i, now.minusHours(1))));
+        }
+        List<BlacklistedToken> live = List.of(
+            repository.save(token("sweeper-live-0", now.plusHours(1))),
+            repository.save(token("sweeper-live-1", now.plusDays(1))));
+        double purgedBefore = meterRegistry.counter("think.blacklist.sweep.purged").count();
+
+        sweeper.sweep();
+
+        // 배치 크기(2)보다 많은 만료 토큰도 한 번의 실행에서 모두 지운다
+        assertThat(expired).noneMatch(token -> repository.existsById(token.getId()));
+        assertThat(live).allMatch(token -> repository.existsById(token.getId()));
+        assertThat(meterRegistry.counter("think.blacklist.sweep.purged").count() - purgedBefore)
+            .isGreaterThanOrEqualTo(expired.size());
+    }
+
+    private static BlacklistedToken token(String jwt, LocalDateTime expiryDate) {
+        BlacklistedToken token = new BlacklistedToken();
+        token.setTokenHash(TokenDigest.of(jwt));
+        token.setBlacklistedAt(LocalDateTime.now().minusHours(2));
+        token.setExpiryDate(expiryDate);
+        return token;
+    }
+}
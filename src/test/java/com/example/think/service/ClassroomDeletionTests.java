@@ -0,0 +1,168 @@
+package com.example.think.service;
+
+import com.example.think.entity.Assignment;
+import com.example.think.entity.AssignmentSubmission;
+import com.example.think.entity.Classroom;
+import com.example.think.entity.ClassroomDeletion;
+import com.example.think.entity.DeletionStatus;
+import com.example.think.entity.User;
+import com.example.think.entity.UserRole;
+import com.example.think.repository.AssignmentRepository;
+import com.example.think.repository.AssignmentSubmissionRepository;
+import com.example.think.repository.ClassroomDeletionRepository;
+import com.example.think.repository.ClassroomRepository;
+import com.example.think.repository.UserRepository;
+import com.example.think.security.JwtTokenProvider;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import static com.example.think.TestFixtures.newClassroom;
+import static com.example.think.TestFixtures.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 강의실 삭제는 요청 즉시 숨기고, 과제/제출물 정리는 ClassroomReaper가 일괄 삭제로 처리하는지 확인한다.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ClassroomDeletionTests {
+
+    private static final int ROWS = 15;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JwtTokenProvider tokenProvider;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ClassroomService classroomService;
+
+    @Autowired
+    private ClassroomRepository classroomRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private AssignmentSubmissionRepository submissionRepository;
+
+    @Autowired
+    private ClassroomDeletionRepository deletionRepository;
+
+    @Autowired
+    private ClassroomReaper classroomReaper;
+
+    @Autowired
+    private ThreadPoolTaskExecutor taskExecutor;
+
+    // 커밋 후 비동기 이미지 정리가 같은 컨텍스트를 쓰는 다른 테스트에 섞이지 않도록 끝날 때까지 기다린다
+    @AfterEach
+    void awaitAsyncTasks() throws InterruptedException {
+        ThreadPoolExecutor executor = taskExecutor.getThreadPoolExecutor();
+        long deadline = System.currentTimeMillis() + 5_000;
+        while ((executor.getActiveCount() > 0 || !executor.getQueue().isEmpty())
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    void classroomDeletionIsAcceptedAndPurgedInBackground() throws Exception {
+        User professor = userRepository.save(newUser(UserRole.PROFESSOR));
+        String token = tokenProvider.generateToken(professor);
+        Classroom classroom = classroomRepository.save(newClassroom("삭제 테스트", professor));
+        Long classroomId = classroom.getId();
+        Assignment assignment = seedAssignments(classroom);
+
+        mockMvc.perform(delete("/api/classroom/" + classroomId)
+                .header("Authorization", "Bearer " + token))
+            .andExpect(status().isAccepted());
+
+        // 삭제 요청 직후부터 조회에서 제외된다
+        assertThat(classroomRepository.findById(classroomId)).isEmpty();
+        mockMvc.perform(get("/api/classroom/" + classroomId)
+                .header("Authorization", "Bearer " + token))
+            .andExpect(status().isForbidden());
+        // 정리가 끝나기 전에도 새 제출은 받지 않는다
+        assertThatThrownBy(() -> classroomService.checkSubmittable(assignment.getId()))
+            .hasMessage("과제를 찾을 수 없습니다.");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        classroomReaper.reap();
+
+        // 과제/제출물/명단은 엔티티로 읽지 않고 일괄 삭제한다
+        assertThat(statistics.getEntityStatistics(AssignmentSubmission.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getEntityStatistics(Assignment.class.getName()).getLoadCount()).isZero();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+        assertThat(assignmentRepository.existsById(assignment.getId())).isFalse();
+        assertThat(submissionRepository.findByAssignment_Id(assignment.getId())).isEmpty();
+
+        ClassroomDeletion deletion = deletionRepository.findById(classroomId).orElseThrow();
+        assertThat(deletion.getStatus()).isEqualTo(DeletionStatus.COMPLETED);
+        assertThat(deletion.getDeletedSubmissions()).isEqualTo(ROWS);
+        assertThat(deletion.getDeletedAssignments()).isEqualTo(ROWS);
+        mockMvc.perform(get("/api/classroom/" + classroomId + "/deletion")
+                .header("Authorization", "Bearer " + token))
+            .andExpect(status().isOk());
+    }
+
+    // 명단에 학생 ROWS명, 과제 ROWS개, 첫 과제에 학생마다 제출물 하나를 만든다
+    private Assignment seedAssignments(Classroom classroom) {
+        List<User> students = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            students.add(userRepository.save(newUser(UserRole.STUDENT)));
+        }
+        classroom.getStudents().addAll(students);
+        classroomRepository.save(classroom);
+
+        Assignment first = null;
+        for (int i = 0; i < ROWS; i++) {
+            Assignment created = new Assignment();
+            created.setTitle("과제 " + i);
+            created.setDueDate(LocalDateTime.now().plusDays(7));
+            created.setClassroom(classroom);
+            created = assignmentRepository.save(created);
+            if (first == null) {
+                first = created;
+            }
+        }
+
+        for (User student : students) {
+            AssignmentSubmission submission = new AssignmentSubmission();
+            submission.setAssignment(first);
+            submission.setStudent(student);
+            submission.setImageKey("0".repeat(64));
+            submission.setImageSize(128L);
+            submission.setImageMimeType("image/png");
+            submissionRepository.save(submission);
+        }
+        return first;
+    }
+}
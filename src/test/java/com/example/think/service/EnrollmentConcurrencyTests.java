@@ -0,0 +1,87 @@
+package com.example.think.service;
+
+import com.example.think.entity.Classroom;
+import com.example.think.entity.User;
+import com.example.think.entity.UserRole;
+import com.example.think.repository.ClassroomRepository;
+import com.example.think.repository.UserRepository;
+import com.example.think.security.UserPrincipal;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.think.TestFixtures.newClassroom;
+import static com.example.think.TestFixtures.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 같은 초대 코드로 동시에 몰리는 가입 요청에서 수강 행과 저장된 수강생 수가 정확히 맞는지 확인한다.
+ */
+@SpringBootTest(properties = "app.classroom.materializedStudentCount=true")
+@ActiveProfiles("test")
+class EnrollmentConcurrencyTests {
+
+    private static final int STUDENTS = 200;
+    private static final int JOINS_PER_STUDENT = 10;
+    @Autowired
+    private ClassroomService classroomService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ClassroomRepository classroomRepository;
+
+    @Test
+    void concurrentJoinsEnrollEachStudentExactlyOnce() throws Exception {
+        User professor = userRepository.save(newUser(UserRole.PROFESSOR));
+        Classroom classroom = classroomRepository.save(newClassroom("동시 가입", professor));
+
+        List<UserPrincipal> joins = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            UserPrincipal student = UserPrincipal.create(userRepository.save(newUser(UserRole.STUDENT)));
+            for (int j = 0; j < JOINS_PER_STUDENT; j++) {
+                joins.add(student);
+            }
+        }
+        Collections.shuffle(joins);
+
+        String classCode = classroom.getClassCode();
+        ExecutorService executor = Executors.newFixedThreadPool(32);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (UserPrincipal student : joins) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return classroomService.enrollStudent(classCode, student);
+                }));
+            }
+            start.countDown();
+
+            int enrolled = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(60, TimeUnit.SECONDS)) {
+                    enrolled++;
+                }
+            }
+            assertThat(enrolled).isEqualTo(STUDENTS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(classroomRepository.countStudentsByClassroomId(classroom.getId())).isEqualTo(STUDENTS);
+        assertThat(classroomRepository.findById(classroom.getId()).orElseThrow().getStudentCount())
+            .isEqualTo(STUDENTS);
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.think.service;
+
+import com.example.think.TestFixtures;
+import com.example.think.entity.Assignment;
+import com.example.think.entity.AssignmentSubmission;
+import com.example.think.entity.Classroom;
+import com.example.think.entity.LegacySubmissionImage;
+import com.example.think.entity.User;
+import com.example.think.entity.UserRole;
+import com.example.think.repository.AssignmentRepository;
+import com.example.think.repository.AssignmentSubmissionRepository;
+import com.example.think.repository.ClassroomRepository;
+import com.example.think.repository.LegacySubmissionImageRepository;
+import com.example.think.repository.UserRepository;
+import com.example.think.security.UserPrincipal;
+import com.example.think.storage.StoredImage;
+import com.example.think.storage.SubmissionImageStore;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Base64;
+
+import static com.example.think.TestFixtures.newClassroom;
+import static com.example.think.TestFixtures.newUser;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "app.storage.legacyBackfill.batchSize=2")
+@ActiveProfiles("test")
+class LegacyImageBackfillTests {
+
+    @Autowired
+    private LegacyImageBackfill backfill;
+
+    @Autowired
+    private ClassroomService classroomService;
+
+    @Autowired
+    private SubmissionImageStore imageStore;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ClassroomRepository classroomRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private AssignmentSubmissionRepository submissionRepository;
+
+    @Autowired
+    private LegacySubmissionImageRepository legacyImageRepository;
+
+    @Test
+    void movesLegacyRowsSharingIdenticalImagesAndFlagsBlanks() throws Exception {
+        Assignment assignment = newAssignment();
+        String drawing = dataUrl(canvas(true));
+        AssignmentSubmission first = legacySubmission(assignment, drawing);
+        AssignmentSubmission second = legacySubmission(assignment, drawing);
+        AssignmentSubmission blank = legacySubmission(assignment, dataUrl(canvas(false)));
+
+        assertThat(backfill.run()).isGreaterThanOrEqualTo(3);
+
+        AssignmentSubmission firstAfter = submissionRepository.findById(first.getId()).orElseThrow();
+        AssignmentSubmission secondAfter = submissionRepository.findById(second.getId()).orElseThrow();
+        AssignmentSubmission blankAfter = submissionRepository.findById(blank.getId()).orElseThrow();
+        assertThat(firstAfter.getImageKey()).isNotNull().isEqualTo(secondAfter.getImageKey());
+        assertThat(imageStore.exists(firstAfter.getImageKey())).isTrue();
+        assertThat(blankAfter.isBlank()).isTrue();
+        assertThat(blankAfter.getImageKey()).isNull();
+        assertThat(legacyImageRepository.findById(first.getId()).orElseThrow().getImageData()).isNull();
+        assertThat(submissionRepository.findLegacyImageIds(0L, 100)).doesNotContain(first.getId(), second.getId(), blank.getId());
+    }
+
+    @Test
+    void blankSubmissionIsFlaggedWithoutStoringImage() throws Exception {
+        Assignment assignment = newAssignment();
+        User student = userRepository.save(newUser(UserRole.STUDENT));
+        UserPrincipal principal = UserPrincipal.create(student);
+
+        AssignmentSubmission submission = classroomService.submitAssignment(
+            assignment.getId(), principal, dataUrl(canvas(false)));
+
+        assertThat(submission.isBlank()).isTrue();
+        assertThat(submission.getImageKey()).isNull();
+        StoredImage image = classroomService.getSubmissionImage(submission.getId(), principal);
+        assertThat(image.getMimeType()).isEqualTo("image/png");
+        assertThat(imageStore.exists(image.getKey())).isTrue();
+    }
+
+    @Test
+    void readingLegacyImageDoesNotMigrateIt() throws Exception {
+        Assignment assignment = newAssignment();
+        BufferedImage drawn = canvas(true);
+        AssignmentSubmission submission = legacySubmission(assignment, dataUrl(drawn));
+        UserPrincipal principal = UserPrincipal.create(submission.getStudent());
+
+        StoredImage image = classroomService.getSubmissionImage(submission.getId(), principal);
+
+        assertThat(image.isInline()).isTrue();
+        assertThat(image.getMimeType()).isEqualTo("image/png");
+        byte[] bytes = image.getInlineData().openDecodedStream().readAllBytes();
+        assertThat((long) bytes.length).isEqualTo(image.getSize());
+        assertThat(ImageIO.read(new ByteArrayInputStream(bytes)).getWidth()).isEqualTo(drawn.getWidth());
+        assertThat(submissionRepository.findById(submission.getId()).orElseThrow().getImageKey()).isNull();
+        assertThat(legacyImageRepository.findById(submission.getId()).orElseThrow().getImageData()).isNotNull();
+    }
+
+    private AssignmentSubmission legacySubmission(Assignment assignment, String dataUrl) {
+        AssignmentSubmission submission = new AssignmentSubmission();
+        submission.setAssignment(assignment);
+        submission.setStudent(userRepository.save(newUser(UserRole.STUDENT)));
+        submission = submissionRepository.save(submission);
+        LegacySubmissionImage legacy = new LegacySubmissionImage();
+        legacy.setId(submission.getId());
+        legacy.setImageData(dataUrl);
+        legacyImageRepository.save(legacy);
+        return submission;
+    }
+
+    private static BufferedImage canvas(boolean drawn) {
+        BufferedImage image = new BufferedImage(400, 300, BufferedImage.TYPE_INT_ARGB);
+        if (drawn) {
+            Graphics2D g = image.createGraphics();
+            g.setColor(Color.BLACK);
+            g.drawLine(10, 10, 390, 290);
+            g.dispose();
+        }
+        return image;
+    }
+
+    private static String dataUrl(BufferedImage image) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return "data:image/png;base64," + Base64.getEncoder().encodeToString(out.toByteArray());
+    }
+
+    private Assignment newAssignment() {
+        User professor = userRepository.save(newUser(UserRole.PROFESSOR));
+        Classroom classroom = classroomRepository.save(newClassroom("백필 테스트", professor));
+        return assignmentRepository.save(TestFixtures.newAssignment(classroom));
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.think.service;
+
+import com.example.think.storage.FileSystemSubmissionImageStore;
+import com.example.think.storage.StoredImage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SubmissionImagePipelineTests {
+
+    @TempDir
+    Path root;
+
+    private FileSystemSubmissionImageStore store;
+    private SubmissionImagePipeline pipeline;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        store = new FileSystemSubmissionImageStore(root);
+        pipeline = new SubmissionImagePipeline(store, new SubmissionRasterizer(), new SimpleMeterRegistry(), 1, 1, 240);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.shutdown();
+    }
+
+    @Test
+    void producesThumbnailAndSmallerLosslessCopy() throws Exception {
+        BufferedImage drawing = drawing(1200, 900);
+        StoredImage original = store.store(new ByteArrayInputStream(uncompressedPng(drawing)), "image/png");
+
+        pipeline.process(original.getKey(), "image/png");
+
+        StoredImage optimized = pipeline.preferred(original);
+        assertThat(optimized.getRendition()).isEqualTo(SubmissionImagePipeline.OPTIMIZED);
+        assertThat(optimized.getSize()).isLessThan(original.getSize());
+        BufferedImage decoded = read(original.getKey(), SubmissionImagePipeline.OPTIMIZED);
+        assertThat(decoded.getRGB(600, 450)).isEqualTo(drawing.getRGB(600, 450));
+        assertThat(decoded.getRGB(10, 10)).isEqualTo(drawing.getRGB(10, 10));
+
+        BufferedImage thumbnail = read(original.getKey(), SubmissionImagePipeline.THUMBNAIL);
+        assertThat(thumbnail.getWidth()).isEqualTo(240);
+        assertThat(thumbnail.getHeight()).isEqualTo(180);
+    }
+
+    @Test
+    void thumbnailIsCreatedOnDemand() throws Exception {
+        StoredImage original = store.store(new ByteArrayInputStream(uncompressedPng(drawing(480, 240))), "image/png");
+
+        StoredImage thumbnail = pipeline.thumbnail(original.getKey(), "image/png");
+
+        assertThat(thumbnail.getRendition()).isEqualTo(SubmissionImagePipeline.THUMBNAIL);
+        assertThat(store.size(original.getKey(), SubmissionImagePipeline.THUMBNAIL)).isEqualTo(thumbnail.getSize());
+        assertThat(read(original.getKey(), SubmissionImagePipeline.THUMBNAIL).getHeight()).isEqualTo(120);
+    }
+
+    @Test
+    void skipsRenditionsOfImagesLargerThanCanvas() throws Exception {
+        StoredImage original = store.store(new ByteArrayInputStream(uncompressedPng(drawing(2400, 10))), "image/png");
+
+        pipeline.process(original.getKey(), "image/png");
+
+        assertThat(store.exists(original.getKey(), SubmissionImagePipeline.OPTIMIZED)).isFalse();
+        assertThat(store.exists(original.getKey(), SubmissionImagePipeline.THUMBNAIL)).isFalse();
+        assertThat(pipeline.preferred(original).getRendition()).isNull();
+        assertThat(pipeline.thumbnail(original.getKey(), "image/png").getRendition()).isNull();
+    }
+
+    private BufferedImage read(String key, String rendition) throws Exception {
+        try (InputStream in = Channels.newInputStream(store.openChannel(key, rendition))) {
+            return ImageIO.read(in);
+        }
+    }
+
+    private static BufferedImage drawing(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, width, height);
+        g.setColor(Color.BLUE);
+        g.fillOval(width / 4, height / 4, width / 2, height / 2);
+        g.dispose();
+        return image;
+    }
+
+    // 브라우저가 압축을 거의 하지 않은 PNG를 올린 경우를 흉내 낸다
+    private static byte[] uncompressedPng(BufferedImage image) throws Exception {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("png").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream stream = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(stream);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(1.0f);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.think.storage;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FileSystemSubmissionImageStoreTests {
+
+    private static final byte[] PNG_BYTES = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n', 1, 2, 3, 4};
+
+    @TempDir
+    Path root;
+
+    private FileSystemSubmissionImageStore store;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        store = new FileSystemSubmissionImageStore(root);
+    }
+
+    @Test
+    void storesDecodedBytesUnderContentHash() throws Exception {
+        String dataUrl = "data:image/png;base64," + Base64.getEncoder().encodeToString(PNG_BYTES);
+
+        StoredImage image = store.storeDataUrl(dataUrl);
+
+        assertThat(image.getKey()).hasSize(64);
+        assertThat(image.getSize()).isEqualTo(PNG_BYTES.length);
+        assertThat(image.getMimeType()).isEqualTo("image/png");
+        try (InputStream in = store.open(image.getKey())) {
+            assertThat(in.readAllBytes()).isEqualTo(PNG_BYTES);
+        }
+    }
+
+    @Test
+    void identicalUploadsShareOneBlob() throws Exception {
+        StoredImage first = store.store(new ByteArrayInputStream(PNG_BYTES), "image/png");
+        StoredImage second = store.store(new ByteArrayInputStream(PNG_BYTES), "image/png");
+
+        assertThat(second.getKey()).isEqualTo(first.getKey());
+        try (var files = Files.walk(root)) {
+            assertThat(files.filter(Files::isRegularFile).count()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void renditionsAreDeletedWithOriginal() throws Exception {
+        StoredImage image = store.store(new ByteArrayInputStream(PNG_BYTES), "image/png");
+        StoredImage rendition = store.storeRendition(image.getKey(), "thumb", new ByteArrayInputStream(new byte[]{1, 2}), "image/png");
+
+        assertThat(rendition.getRendition()).isEqualTo("thumb");
+        assertThat(store.size(image.getKey(), "thumb")).isEqualTo(2);
+
+        store.delete(image.getKey());
+
+        assertThat(store.exists(image.getKey())).isFalse();
+        assertThat(store.exists(image.getKey(), "thumb")).isFalse();
+    }
+
+    @Test
+    void rejectsKeysOutsideStore() {
+        assertThatThrownBy(() -> store.open("../../etc/passwd"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
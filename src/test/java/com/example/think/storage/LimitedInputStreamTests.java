@@ -0,0 +1,44 @@
+package com.example.think.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LimitedInputStreamTests {
+
+    @Test
+    void readsBodiesUpToLimit() throws Exception {
+        InputStream in = new LimitedInputStream(new ByteArrayInputStream(new byte[100]), 100);
+
+        assertThat(in.readAllBytes()).hasSize(100);
+    }
+
+    @Test
+    void failsAsSoonAsLimitIsExceeded() {
+        CountingInputStream source = new CountingInputStream(new byte[10_000]);
+        InputStream in = new LimitedInputStream(source, 100);
+
+        assertThatThrownBy(in::readAllBytes).isInstanceOf(UploadTooLargeException.class);
+        // 나머지 본문은 읽지 않는다
+        assertThat(source.read).isEqualTo(101);
+    }
+
+    private static final class CountingInputStream extends ByteArrayInputStream {
+        private int read;
+
+        CountingInputStream(byte[] bytes) {
+            super(bytes);
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) {
+            int n = super.read(b, off, len);
+            read += Math.max(n, 0);
+            return n;
+        }
+    }
+}